@@ -1,32 +1,82 @@
 package dev.kiket.sdk;
 
+import dev.kiket.sdk.auth.ReactiveWebhookAuthFilter;
+import dev.kiket.sdk.auth.ReplayCache;
 import dev.kiket.sdk.auth.WebhookAuthFilter;
+import dev.kiket.sdk.client.CircuitBreakerMetrics;
+import dev.kiket.sdk.client.ClientOptions;
+import dev.kiket.sdk.client.KiketClientFactory;
+import dev.kiket.sdk.client.PoolMetrics;
 import dev.kiket.sdk.config.SDKConfig;
 import dev.kiket.sdk.config.ExtensionManifest;
 import dev.kiket.sdk.config.ManifestLoader;
+import dev.kiket.sdk.dispatch.AdaptiveConcurrencyLimiter;
+import dev.kiket.sdk.dispatch.AdmissionController;
+import dev.kiket.sdk.dispatch.DispatchOptions;
+import dev.kiket.sdk.dispatch.FairScheduler;
+import dev.kiket.sdk.dispatch.HandlerExecutors;
+import dev.kiket.sdk.dispatch.IdempotencyCache;
+import dev.kiket.sdk.dispatch.OrderedLanes;
+import dev.kiket.sdk.dispatch.WebhookDispatcher;
+import dev.kiket.sdk.handler.AsyncWebhookHandler;
+import dev.kiket.sdk.handler.HandlerOptions;
 import dev.kiket.sdk.handler.HandlerRegistry;
+import dev.kiket.sdk.handler.TypedWebhookHandler;
+import dev.kiket.sdk.handler.VersionFallback;
 import dev.kiket.sdk.handler.WebhookHandler;
+import dev.kiket.sdk.queue.DeliveryLog;
+import dev.kiket.sdk.queue.DeliveryQueue;
+import dev.kiket.sdk.server.AcknowledgeMode;
+import dev.kiket.sdk.server.ServerMode;
+import dev.kiket.sdk.server.WebhookController;
 import dev.kiket.sdk.telemetry.TelemetryReporter;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ApplicationListener;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Main SDK class for building Kiket extensions.
  */
-@SpringBootApplication
-@Configuration
+@SpringBootApplication(proxyBeanMethods = false)
 public class KiketSDK {
 
     private final SDKConfig config;
     private final HandlerRegistry registry;
     private final TelemetryReporter telemetry;
     private final ExtensionManifest manifest;
+    private final ExecutorService handlerExecutor;
+    private final boolean ownsHandlerExecutor;
+    private final KiketClientFactory clientFactory;
+    private final DispatchOptions dispatchOptions;
+    private final WebhookDispatcher dispatcher;
+    private final ServerMode serverMode;
+    private final AcknowledgeMode acknowledgeMode;
+    private final Path deliveryQueueDirectory;
+    private final boolean deliveryQueueSync;
+    private final int deliveryQueueWorkers;
+    private final int deliveryQueueMaxPending;
+    private DeliveryQueue deliveryQueue;
+    private final ReplayCache replayCache;
     private ConfigurableApplicationContext context;
 
     /**
@@ -38,6 +88,7 @@ public class KiketSDK {
         this.manifest = ManifestLoader.load(builder.manifestPath);
         this.config = resolveConfig(builder, manifest);
         this.registry = new HandlerRegistry();
+        registry.setVersionFallback(builder.versionFallback);
         this.telemetry = new TelemetryReporter(
             config.isTelemetryEnabled(),
             config.getTelemetryUrl(),
@@ -46,6 +97,22 @@ public class KiketSDK {
             config.getExtensionVersion(),
             config.getExtensionApiKey()
         );
+        this.ownsHandlerExecutor = builder.handlerExecutor == null;
+        this.handlerExecutor = ownsHandlerExecutor ? HandlerExecutors.newDefault() : builder.handlerExecutor;
+        this.clientFactory = new KiketClientFactory(config.getBaseUrl(),
+            builder.clientOptions != null ? builder.clientOptions : ClientOptions.defaults(), builder.maxCachedClients);
+        clientFactory.addCircuitBreakerListener(telemetry::recordCircuitStateChange);
+        this.dispatchOptions = dispatchOptions(builder, clientFactory);
+        this.dispatcher = new WebhookDispatcher(config, registry, telemetry, handlerExecutor, dispatchOptions);
+        this.serverMode = builder.serverMode;
+        this.acknowledgeMode = builder.acknowledgeMode;
+        this.deliveryQueueDirectory = builder.deliveryQueueDirectory != null
+            ? builder.deliveryQueueDirectory
+            : Paths.get(System.getProperty("user.dir"), ".kiket", "queue");
+        this.deliveryQueueSync = builder.deliveryQueueSync;
+        this.deliveryQueueWorkers = builder.deliveryQueueWorkers;
+        this.deliveryQueueMaxPending = builder.deliveryQueueMaxPending;
+        this.replayCache = builder.replayProtection ? new ReplayCache(builder.replayCacheSize) : null;
     }
 
     /**
@@ -59,6 +126,87 @@ public class KiketSDK {
         registry.register(event, version, handler);
     }
 
+    /**
+     * Register a webhook handler with dispatch options, such as an ordering key,
+     * priority, bulkhead limits or a deadline.
+     *
+     * @param event Event name
+     * @param version Event version
+     * @param handler Handler function
+     * @param options Dispatch options
+     */
+    public void register(String event, String version, WebhookHandler handler, HandlerOptions options) {
+        registry.register(event, version, handler, options);
+    }
+
+    /**
+     * Register a webhook handler whose payload is deserialized directly from
+     * the request bytes into a record or POJO.
+     *
+     * @param event Event name
+     * @param version Event version
+     * @param payloadType Payload class
+     * @param handler Handler function
+     */
+    public <T> void register(String event, String version, Class<T> payloadType, TypedWebhookHandler<T> handler) {
+        registry.register(event, version, payloadType, handler);
+    }
+
+    /**
+     * Register a typed webhook handler with dispatch options.
+     *
+     * @param event Event name
+     * @param version Event version
+     * @param payloadType Payload class
+     * @param handler Handler function
+     * @param options Dispatch options
+     */
+    public <T> void register(
+        String event,
+        String version,
+        Class<T> payloadType,
+        TypedWebhookHandler<T> handler,
+        HandlerOptions options
+    ) {
+        registry.register(event, version, payloadType, handler, options);
+    }
+
+    /**
+     * Register a non-blocking webhook handler returning a {@code CompletionStage}.
+     *
+     * @param event Event name
+     * @param version Event version
+     * @param handler Handler function
+     */
+    public void registerAsync(String event, String version, AsyncWebhookHandler handler) {
+        registry.registerAsync(event, version, handler);
+    }
+
+    /**
+     * Register a non-blocking webhook handler with dispatch options. A
+     * {@code HandlerOptions} timeout completes the delivery
+     * exceptionally and cancels the handler's outbound client calls.
+     *
+     * @param event Event name
+     * @param version Event version
+     * @param handler Handler function
+     * @param options Dispatch options
+     */
+    public void registerAsync(String event, String version, AsyncWebhookHandler handler, HandlerOptions options) {
+        registry.registerAsync(event, version, handler, options);
+    }
+
+    /**
+     * Register a non-blocking webhook handler returning a Reactor {@code Mono}.
+     *
+     * @param event Event name
+     * @param version Event version
+     * @param handler Handler function
+     */
+    public void registerReactive(String event, String version, AsyncWebhookHandler.MonoHandler handler) {
+        registry.registerAsync(event, version, AsyncWebhookHandler.fromMono(handler));
+    }
+
     /**
      * Start the Spring Boot application.
      *
@@ -66,14 +214,28 @@ public class KiketSDK {
      * @param port Port to bind to
      */
     public void run(String host, int port) {
+        // Queued deliveries are replayed on start, so routing must be final before the queue opens
+        registry.freeze();
+        if (acknowledgeMode == AcknowledgeMode.ON_RECEIPT) {
+            startDeliveryQueue();
+        }
+
         SpringApplication app = new SpringApplication(KiketSDK.class);
+        app.setWebApplicationType(serverMode == ServerMode.REACTIVE
+            ? WebApplicationType.REACTIVE
+            : WebApplicationType.SERVLET);
         app.setDefaultProperties(Map.of(
             "server.address", host,
             "server.port", String.valueOf(port)
         ));
+        // Serve this configured instance instead of letting Spring construct a new one
+        app.addListeners((ApplicationListener<ApplicationPreparedEvent>) event -> {
+            BeanDefinition definition = event.getApplicationContext().getBeanFactory().getBeanDefinition("kiketSDK");
+            ((AbstractBeanDefinition) definition).setInstanceSupplier(() -> this);
+        });
         this.context = app.run();
 
-        System.out.println("🚀 Kiket extension listening on http://" + host + ":" + port);
+        System.out.println("🚀 Kiket extension listening on http://" + host + ":" + port + " (" + serverMode + ")");
         System.out.println("📦 Extension: " + (config.getExtensionId() != null ? config.getExtensionId() : "unknown"));
         System.out.println("📝 Registered events: " + String.join(", ", registry.eventNames()));
     }
@@ -85,6 +247,57 @@ public class KiketSDK {
         if (context != null) {
             context.close();
         }
+        if (deliveryQueue != null) {
+            deliveryQueue.close();
+        }
+        if (ownsHandlerExecutor) {
+            handlerExecutor.shutdown();
+        }
+        dispatcher.close();
+        clientFactory.close();
+    }
+
+    /**
+     * Replay-protection cache, exposing hit, miss and eviction counts.
+     *
+     * @return the cache, or {@code null} if replay protection is disabled
+     */
+    public ReplayCache getReplayCache() {
+        return replayCache;
+    }
+
+    /**
+     * Admission controller, exposing in-flight, queued and rejected counts.
+     *
+     * @return the controller, or {@code null} if admission control is disabled
+     */
+    public AdmissionController getAdmissionController() {
+        return dispatchOptions.getAdmissionController();
+    }
+
+    /**
+     * Current adaptive concurrency limit of each {@code event:version}.
+     *
+     * @return the limits, empty if adaptive concurrency is disabled
+     */
+    public Map<String, Integer> getConcurrencyLimits() {
+        AdaptiveConcurrencyLimiter limiter = dispatchOptions.getConcurrencyLimiter();
+        return limiter != null ? limiter.getLimits() : Map.of();
+    }
+
+    /**
+     * Active, idle and pending connections of the outbound API connection pool.
+     */
+    public PoolMetrics getClientPoolMetrics() {
+        return clientFactory.poolMetrics();
+    }
+
+    /**
+     * Circuit breaker state of every outbound API route, by route template.
+     * State changes are also recorded through telemetry.
+     */
+    public Map<String, CircuitBreakerMetrics> getCircuitBreakers() {
+        return clientFactory.circuitBreakerMetrics();
     }
 
     @Bean
@@ -103,8 +316,66 @@ public class KiketSDK {
     }
 
     @Bean
+    public WebhookDispatcher webhookDispatcher() {
+        return dispatcher;
+    }
+
+    @Bean
+    public WebhookController webhookController() {
+        return new WebhookController(dispatcher, deliveryQueue);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public WebhookAuthFilter webhookAuthFilter() {
-        return new WebhookAuthFilter(config.getWebhookSecret());
+        return new WebhookAuthFilter(config.getWebhookSecrets(), replayCache);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveWebhookAuthFilter reactiveWebhookAuthFilter() {
+        return new ReactiveWebhookAuthFilter(config.getWebhookSecrets(), replayCache);
+    }
+
+    /**
+     * Serve reactive mode on Reactor Netty even though Tomcat is on the classpath.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    private void startDeliveryQueue() {
+        try {
+            DeliveryLog log = new DeliveryLog(deliveryQueueDirectory, DeliveryLog.DEFAULT_SEGMENT_SIZE, deliveryQueueSync);
+            this.deliveryQueue = new DeliveryQueue(log, dispatcher, deliveryQueueWorkers,
+                DeliveryQueue.DEFAULT_MAX_ATTEMPTS, deliveryQueueMaxPending);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open delivery queue at " + deliveryQueueDirectory, e);
+        }
+        deliveryQueue.start();
+    }
+
+    private static DispatchOptions dispatchOptions(Builder builder, KiketClientFactory clientFactory) {
+        return DispatchOptions.builder()
+            .clientFactory(clientFactory)
+            .idempotencyCache(builder.idempotencyMaxEntries > 0
+                ? new IdempotencyCache(builder.idempotencyMaxEntries, builder.idempotencyTtl)
+                : null)
+            .admissionController(builder.maxInFlight > 0
+                ? new AdmissionController(builder.maxInFlight, builder.maxQueued)
+                : null)
+            .fairScheduler(builder.fairMaxConcurrent > 0
+                ? new FairScheduler(builder.fairMaxConcurrent, builder.fairMaxQueuedPerTenant, builder.tenantWeights)
+                : null)
+            .tenantHeader(builder.tenantHeader)
+            .tenantKey(builder.tenantKey)
+            .concurrencyLimiter(builder.adaptiveConcurrency
+                ? new AdaptiveConcurrencyLimiter(builder.initialConcurrencyLimit, builder.maxConcurrencyLimit)
+                : null)
+            .orderedLanes(new OrderedLanes(builder.orderedLanes))
+            .build();
     }
 
     private SDKConfig resolveConfig(Builder builder, ExtensionManifest manifest) {
@@ -119,6 +390,17 @@ public class KiketSDK {
             : manifest != null && manifest.getDeliverySecret() != null ? manifest.getDeliverySecret()
             : System.getenv("KIKET_WEBHOOK_SECRET");
 
+        // Active secrets during rotation: the primary secret first, then any others
+        List<String> webhookSecrets = new ArrayList<>();
+        if (webhookSecret != null) {
+            webhookSecrets.add(webhookSecret);
+        }
+        if (builder.webhookSecrets != null) {
+            webhookSecrets.addAll(builder.webhookSecrets);
+        } else if (manifest != null && manifest.getDeliverySecrets() != null) {
+            webhookSecrets.addAll(manifest.getDeliverySecrets());
+        }
+
         Map<String, Object> settings = new HashMap<>();
         if (manifest != null) {
             settings.putAll(manifest.getSettingsDefaults());
@@ -145,6 +427,7 @@ public class KiketSDK {
 
         return SDKConfig.builder()
             .webhookSecret(webhookSecret)
+            .webhookSecrets(webhookSecrets)
             .workspaceToken(workspaceToken)
             .baseUrl(baseUrl)
             .settings(settings)
@@ -169,6 +452,7 @@ public class KiketSDK {
      */
     public static class Builder {
         private String webhookSecret;
+        private List<String> webhookSecrets;
         private String workspaceToken;
         private String baseUrl;
         private Map<String, Object> settings;
@@ -180,12 +464,46 @@ public class KiketSDK {
         private TelemetryReporter.FeedbackHook feedbackHook;
         private String telemetryUrl;
         private String extensionApiKey;
+        private ExecutorService handlerExecutor;
+        private ServerMode serverMode = ServerMode.SERVLET;
+        private AcknowledgeMode acknowledgeMode = AcknowledgeMode.ON_COMPLETION;
+        private Path deliveryQueueDirectory;
+        private boolean deliveryQueueSync;
+        private int deliveryQueueWorkers = DeliveryQueue.DEFAULT_WORKERS;
+        private int deliveryQueueMaxPending = DeliveryQueue.DEFAULT_MAX_PENDING;
+        private boolean replayProtection = true;
+        private int replayCacheSize = ReplayCache.DEFAULT_MAX_ENTRIES;
+        private int idempotencyMaxEntries;
+        private Duration idempotencyTtl;
+        private int orderedLanes = OrderedLanes.DEFAULT_LANES;
+        private VersionFallback versionFallback = VersionFallback.EXACT;
+        private int maxCachedClients = KiketClientFactory.DEFAULT_MAX_CLIENTS;
+        private ClientOptions clientOptions;
+        private int maxInFlight;
+        private int maxQueued;
+        private boolean adaptiveConcurrency;
+        private int fairMaxConcurrent;
+        private int fairMaxQueuedPerTenant;
+        private final Map<String, Integer> tenantWeights = new HashMap<>();
+        private String tenantHeader = FairScheduler.DEFAULT_TENANT_HEADER;
+        private String tenantKey;
+        private int initialConcurrencyLimit = AdaptiveConcurrencyLimiter.DEFAULT_INITIAL_LIMIT;
+        private int maxConcurrencyLimit = AdaptiveConcurrencyLimiter.DEFAULT_MAX_LIMIT;
 
         public Builder webhookSecret(String webhookSecret) {
             this.webhookSecret = webhookSecret;
             return this;
         }
 
+        /**
+         * Additional secrets accepted while the delivery secret is rotated,
+         * tried after {@link #webhookSecret(String)}.
+         */
+        public Builder webhookSecrets(List<String> webhookSecrets) {
+            this.webhookSecrets = webhookSecrets;
+            return this;
+        }
+
         public Builder workspaceToken(String workspaceToken) {
             this.workspaceToken = workspaceToken;
             return this;
@@ -241,6 +559,223 @@ public class KiketSDK {
             return this;
         }
 
+        /**
+         * Executor used to run webhook handlers. Defaults to virtual threads on
+         * Java 21+ and a bounded platform thread pool on Java 17.
+         */
+        public Builder handlerExecutor(ExecutorService handlerExecutor) {
+            this.handlerExecutor = handlerExecutor;
+            return this;
+        }
+
+        /**
+         * Web stack used to serve webhooks. {@link ServerMode#REACTIVE} serves
+         * them on Reactor Netty instead of Tomcat.
+         */
+        public Builder serverMode(ServerMode serverMode) {
+            this.serverMode = serverMode;
+            return this;
+        }
+
+        /**
+         * Reject signed deliveries replayed within the timestamp window (enabled by default).
+         * A delivery that is not answered with a {@code 2xx} status is forgotten, so the
+         * sender may retry it.
+         */
+        public Builder replayProtection(boolean replayProtection) {
+            this.replayProtection = replayProtection;
+            return this;
+        }
+
+        /**
+         * Maximum number of delivery signatures remembered for replay protection.
+         */
+        public Builder replayCacheSize(int replayCacheSize) {
+            this.replayCacheSize = replayCacheSize;
+            return this;
+        }
+
+        /**
+         * Deduplicate retried deliveries by delivery id (or payload hash). A
+         * retry that arrives while the first attempt runs waits for it; a
+         * retry after success receives the cached result until {@code ttl} elapses.
+         *
+         * @param maxEntries Maximum number of remembered deliveries
+         * @param ttl How long a completed result is served to retries
+         */
+        public Builder idempotency(int maxEntries, Duration ttl) {
+            this.idempotencyMaxEntries = maxEntries;
+            this.idempotencyTtl = ttl;
+            return this;
+        }
+
+        /**
+         * When deliveries are acknowledged. {@link AcknowledgeMode#ON_RECEIPT}
+         * appends each verified delivery to a durable local queue and responds
+         * {@code 202} immediately; queued deliveries survive a restart.
+         */
+        public Builder acknowledgeMode(AcknowledgeMode acknowledgeMode) {
+            this.acknowledgeMode = acknowledgeMode;
+            return this;
+        }
+
+        /**
+         * Directory of the delivery queue used by {@link AcknowledgeMode#ON_RECEIPT}.
+         * Defaults to {@code .kiket/queue} in the working directory.
+         */
+        public Builder deliveryQueueDirectory(Path deliveryQueueDirectory) {
+            this.deliveryQueueDirectory = deliveryQueueDirectory;
+            return this;
+        }
+
+        /**
+         * Force each queued delivery to disk before acknowledging it, so it also
+         * survives a host crash rather than only a process crash.
+         */
+        public Builder deliveryQueueSync(boolean deliveryQueueSync) {
+            this.deliveryQueueSync = deliveryQueueSync;
+            return this;
+        }
+
+        /**
+         * Number of worker threads draining the delivery queue.
+         */
+        public Builder deliveryQueueWorkers(int deliveryQueueWorkers) {
+            this.deliveryQueueWorkers = deliveryQueueWorkers;
+            return this;
+        }
+
+        /**
+         * Maximum deliveries waiting in the delivery queue. Further deliveries
+         * are rejected with {@code 429} until the workers catch up. Defaults to
+         * {@value DeliveryQueue#DEFAULT_MAX_PENDING}.
+         */
+        public Builder deliveryQueueMaxPending(int deliveryQueueMaxPending) {
+            this.deliveryQueueMaxPending = deliveryQueueMaxPending;
+            return this;
+        }
+
+        /**
+         * Number of serial lanes shared by handlers registered with an
+         * {@link HandlerOptions} ordering key. Keys that hash
+         * to the same lane are serialized with each other.
+         */
+        public Builder orderedLanes(int orderedLanes) {
+            this.orderedLanes = orderedLanes;
+            return this;
+        }
+
+        /**
+         * Bound concurrent and waiting deliveries. Deliveries beyond both limits
+         * are rejected with {@code 429} and a {@code Retry-After} header;
+         * {@link HandlerOptions} priorities decide which events are
+         * shed first.
+         *
+         * @param maxInFlight Maximum deliveries handled at once
+         * @param maxQueued Maximum deliveries waiting for a slot
+         */
+        public Builder admissionControl(int maxInFlight, int maxQueued) {
+            this.maxInFlight = maxInFlight;
+            this.maxQueued = maxQueued;
+            return this;
+        }
+
+        /**
+         * Limit each handler's concurrency adaptively: the limit for every
+         * {@code event:version} rises while handler latency stays at its
+         * baseline and falls when it degrades.
+         */
+        public Builder adaptiveConcurrency(boolean adaptiveConcurrency) {
+            this.adaptiveConcurrency = adaptiveConcurrency;
+            return this;
+        }
+
+        /**
+         * Enable adaptive concurrency with explicit bounds.
+         *
+         * @param initialLimit Limit per handler before latency is observed
+         * @param maxLimit Upper bound of each handler's limit
+         */
+        public Builder adaptiveConcurrency(int initialLimit, int maxLimit) {
+            this.adaptiveConcurrency = true;
+            this.initialConcurrencyLimit = initialLimit;
+            this.maxConcurrencyLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Share handler capacity fairly between workspaces. Deliveries beyond
+         * {@code maxConcurrent} queue per tenant and are served by weighted
+         * deficit round-robin, so one busy workspace cannot starve the others.
+         *
+         * <p>Combined with {@link #admissionControl(int, int)}, tenants are
+         * queued first and only the deliveries released here are admitted, so
+         * a busy workspace is shed from its own queue rather than filling the
+         * shared one. Keep {@code maxConcurrent} at or below {@code maxInFlight};
+         * deliveries released beyond it wait in (or are shed from) the
+         * admission queue by priority.
+         *
+         * @param maxConcurrent Maximum deliveries running at once across tenants
+         * @param maxQueuedPerTenant Maximum deliveries waiting per tenant before it is shed
+         */
+        public Builder fairScheduling(int maxConcurrent, int maxQueuedPerTenant) {
+            this.fairMaxConcurrent = maxConcurrent;
+            this.fairMaxQueuedPerTenant = maxQueuedPerTenant;
+            return this;
+        }
+
+        /**
+         * Relative share of a tenant under {@link #fairScheduling(int, int)} (default 1).
+         */
+        public Builder tenantWeight(String tenant, int weight) {
+            this.tenantWeights.put(tenant, weight);
+            return this;
+        }
+
+        /**
+         * Header identifying a delivery's tenant. Defaults to
+         * {@value FairScheduler#DEFAULT_TENANT_HEADER}.
+         */
+        public Builder tenantHeader(String tenantHeader) {
+            this.tenantHeader = tenantHeader;
+            return this;
+        }
+
+        /**
+         * Dotted payload path identifying the tenant when the header is absent.
+         */
+        public Builder tenantKey(String tenantKey) {
+            this.tenantKey = tenantKey;
+            return this;
+        }
+
+        /**
+         * How deliveries for versions without an exact handler are routed.
+         * A handler registered for {@value HandlerRegistry#ANY_VERSION} always
+         * serves as the last resort.
+         */
+        public Builder versionFallback(VersionFallback versionFallback) {
+            this.versionFallback = versionFallback;
+            return this;
+        }
+
+        /**
+         * Maximum number of API clients cached per workspace token, event
+         * version and API key. All clients share one connection pool.
+         */
+        public Builder maxCachedClients(int maxCachedClients) {
+            this.maxCachedClients = maxCachedClients;
+            return this;
+        }
+
+        /**
+         * Connection pool, timeout and protocol settings for outbound API calls.
+         */
+        public Builder clientOptions(ClientOptions clientOptions) {
+            this.clientOptions = clientOptions;
+            return this;
+        }
+
         public KiketSDK build() {
             return new KiketSDK(this);
         }
@@ -0,0 +1,88 @@
+package dev.kiket.sdk.auth;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A precomputed HMAC-SHA256 key with a small pool of initialized {@link Mac}
+ * instances. The pool is shared across threads rather than thread-local, so it
+ * stays small when handlers run on virtual threads.
+ */
+class HmacKey {
+    static final String ALGORITHM = "HmacSHA256";
+    static final int MAX_POOLED = 64;
+
+    private final String id;
+    private final SecretKeySpec key;
+    private final Queue<Mac> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    HmacKey(String secret) {
+        this.id = fingerprint(secret);
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    /**
+     * Key id sent by Kiket in the key-id header: the first 8 hex characters of
+     * the SHA-256 digest of the secret.
+     */
+    String getId() {
+        return id;
+    }
+
+    /**
+     * Take an initialized Mac from the pool, creating one if the pool is empty.
+     */
+    Mac acquire() throws GeneralSecurityException {
+        Mac mac = pool.poll();
+        if (mac != null) {
+            pooled.decrementAndGet();
+            return mac;
+        }
+        mac = Mac.getInstance(ALGORITHM);
+        mac.init(key);
+        return mac;
+    }
+
+    /**
+     * Return a Mac to the pool. The Mac is reset so it can be reused with the same key.
+     */
+    void release(Mac mac) {
+        mac.reset();
+        if (pooled.incrementAndGet() <= MAX_POOLED) {
+            pool.offer(mac);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    /**
+     * Compute the signature digest of a fully buffered body in one call.
+     */
+    byte[] sign(byte[] timestamp, byte[] body) throws GeneralSecurityException {
+        Mac mac = acquire();
+        mac.update(timestamp);
+        mac.update((byte) '.');
+        mac.update(body);
+        byte[] digest = mac.doFinal();
+        release(mac);
+        return digest;
+    }
+
+    static String fingerprint(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package dev.kiket.sdk.auth;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * WebFlux port of {@link WebhookAuthFilter} for the reactive server mode.
+ */
+public class ReactiveWebhookAuthFilter implements WebFilter {
+
+    private final WebhookSignatureVerifier verifier;
+
+    public ReactiveWebhookAuthFilter(String secret) {
+        this.verifier = new WebhookSignatureVerifier(secret);
+    }
+
+    /**
+     * @param secrets Active delivery secrets, most likely first
+     */
+    public ReactiveWebhookAuthFilter(List<String> secrets) {
+        this.verifier = new WebhookSignatureVerifier(secrets);
+    }
+
+    /**
+     * @param secrets Active delivery secrets, most likely first
+     * @param replayCache Cache used to reject replayed deliveries, or {@code null} to disable
+     */
+    public ReactiveWebhookAuthFilter(List<String> secrets, ReplayCache replayCache) {
+        this.verifier = new WebhookSignatureVerifier(secrets, replayCache);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+
+        // Only verify webhook endpoints
+        if (!request.getPath().value().contains("/webhooks/")) {
+            return chain.filter(exchange);
+        }
+
+        String signature = request.getHeaders().getFirst(WebhookSignatureVerifier.SIGNATURE_HEADER);
+        String timestamp = request.getHeaders().getFirst(WebhookSignatureVerifier.TIMESTAMP_HEADER);
+
+        WebhookSignatureVerifier.Failure headerFailure = verifier.checkHeaders(signature, timestamp);
+        if (headerFailure != null) {
+            return reject(exchange.getResponse(), headerFailure);
+        }
+
+        long contentLength = request.getHeaders().getContentLength();
+        if (contentLength > WebhookAuthFilter.MAX_BODY_SIZE) {
+            return reject(exchange.getResponse(), WebhookSignatureVerifier.Failure.PAYLOAD_TOO_LARGE);
+        }
+
+        // Stream each buffer into the HMAC as it arrives while caching the exact bytes
+        WebhookSignatureVerifier.Verification verification = verifier.begin(timestamp, request.getHeaders().getFirst(WebhookSignatureVerifier.KEY_ID_HEADER));
+        // The declared length is only a hint; grow towards it as data actually arrives
+        BodyBuffer cached = new BodyBuffer(contentLength > 0
+            ? (int) Math.min(contentLength, WebhookAuthFilter.INITIAL_BUFFER_SIZE)
+            : WebhookAuthFilter.INITIAL_BUFFER_SIZE);
+
+        return request.getBody()
+            .doOnNext(buffer -> {
+                try {
+                    cached.append(buffer, verification);
+                } finally {
+                    DataBufferUtils.release(buffer);
+                }
+            })
+            .then(Mono.defer(() -> {
+                byte[] body = cached.toByteArray();
+                WebhookSignatureVerifier.Failure failure = verification.finish(signature, body);
+                if (failure != null) {
+                    return reject(exchange.getResponse(), failure);
+                }
+
+                exchange.getAttributes().put(WebhookAuthFilter.RAW_BODY_ATTRIBUTE, body);
+                ServerHttpRequest replay = new ServerHttpRequestDecorator(request) {
+                    @Override
+                    public Flux<DataBuffer> getBody() {
+                        return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(body)));
+                    }
+                };
+                return chain.filter(exchange.mutate().request(replay).build())
+                    .doFinally(signal -> {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        if (signal != SignalType.ON_COMPLETE || (status != null && !status.is2xxSuccessful())) {
+                            // Let the sender's retry of a delivery that was not handled through
+                            verification.forget();
+                        }
+                    });
+            }))
+            .onErrorResume(BodyTooLargeException.class,
+                e -> reject(exchange.getResponse(), WebhookSignatureVerifier.Failure.PAYLOAD_TOO_LARGE));
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response, WebhookSignatureVerifier.Failure failure) {
+        response.setStatusCode(HttpStatus.valueOf(failure.getStatus()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer buffer = response.bufferFactory().wrap(failure.toJson().getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    /**
+     * Growable byte array that avoids a final copy when the content length is known.
+     */
+    private static class BodyBuffer {
+        private byte[] bytes;
+        private int size;
+
+        BodyBuffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void append(DataBuffer buffer, WebhookSignatureVerifier.Verification verification) {
+            int length = buffer.readableByteCount();
+            if (length > WebhookAuthFilter.MAX_BODY_SIZE - size) {
+                throw new BodyTooLargeException();
+            }
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.min(Math.max(bytes.length * 2, size + length),
+                    WebhookAuthFilter.MAX_BODY_SIZE));
+            }
+            buffer.read(bytes, size, length);
+            verification.update(bytes, size, length);
+            size += length;
+        }
+
+        byte[] toByteArray() {
+            return size == bytes.length ? bytes : Arrays.copyOf(bytes, size);
+        }
+    }
+
+    /**
+     * Ends the body stream once it passes {@link WebhookAuthFilter#MAX_BODY_SIZE}.
+     */
+    private static class BodyTooLargeException extends RuntimeException {
+        BodyTooLargeException() {
+            super("Webhook body exceeds " + WebhookAuthFilter.MAX_BODY_SIZE + " bytes", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package dev.kiket.sdk.auth;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of recently verified webhook signatures, used to reject a
+ * signed delivery that is replayed inside the timestamp tolerance window.
+ *
+ * <p>Entries are kept in a ring of per-second buckets indexed by the request
+ * timestamp. A replay carries the same timestamp as the original, so a lookup
+ * only touches one bucket and only that bucket is locked. Buckets are reused
+ * once their second falls out of the window, so expiry costs nothing, and each
+ * bucket holds at most {@code maxEntries / ringSize} signatures; the oldest
+ * entry of a full bucket is evicted.
+ */
+public class ReplayCache {
+    public static final int DEFAULT_MAX_ENTRIES = 120_000;
+
+    private final Bucket[] buckets;
+    private final int bucketCapacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ReplayCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries Maximum number of signatures remembered across the window
+     */
+    public ReplayCache(int maxEntries) {
+        this(maxEntries, WebhookSignatureVerifier.TOLERANCE_SECONDS);
+    }
+
+    ReplayCache(int maxEntries, long windowSeconds) {
+        // Valid timestamps lie within +/- windowSeconds of now
+        int ringSize = (int) (2 * windowSeconds + 1);
+        this.buckets = new Bucket[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.bucketCapacity = Math.max(1, maxEntries / ringSize);
+    }
+
+    /**
+     * Record a delivery and report whether it was seen before.
+     *
+     * @param timestamp Request timestamp in epoch seconds
+     * @param fingerprint 64-bit fingerprint of the verified signature
+     * @return {@code true} if this is the first time the delivery is seen
+     */
+    public boolean markSeen(long timestamp, long fingerprint) {
+        Bucket bucket = buckets[(int) Math.floorMod(timestamp, (long) buckets.length)];
+        boolean added;
+        synchronized (bucket) {
+            if (bucket.second != timestamp) {
+                bucket.second = timestamp;
+                bucket.fingerprints.clear();
+            }
+            added = bucket.fingerprints.add(fingerprint);
+            if (added && bucket.fingerprints.size() > bucketCapacity) {
+                Iterator<Long> oldest = bucket.fingerprints.iterator();
+                oldest.next();
+                oldest.remove();
+                evictions.increment();
+            }
+        }
+        if (added) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return added;
+    }
+
+    /**
+     * Remove a delivery recorded by {@link #markSeen}, so the sender's retry of
+     * a delivery that was not handled successfully is accepted.
+     *
+     * @param timestamp Request timestamp in epoch seconds
+     * @param fingerprint 64-bit fingerprint of the verified signature
+     */
+    public void forget(long timestamp, long fingerprint) {
+        Bucket bucket = buckets[(int) Math.floorMod(timestamp, (long) buckets.length)];
+        synchronized (bucket) {
+            if (bucket.second == timestamp) {
+                bucket.fingerprints.remove(fingerprint);
+            }
+        }
+    }
+
+    /**
+     * Number of replays detected.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of first-seen deliveries recorded.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of entries dropped because their bucket was full.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private static class Bucket {
+        private long second = Long.MIN_VALUE;
+        private final LinkedHashSet<Long> fingerprints = new LinkedHashSet<>();
+    }
+}
@@ -3,26 +3,49 @@ package dev.kiket.sdk.auth;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.stereotype.Component;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Filter for verifying webhook HMAC signatures.
  */
-@Component
 public class WebhookAuthFilter implements Filter {
 
-    private final String secret;
+    /**
+     * Request attribute holding the exact verified request body, so the
+     * dispatch endpoint parses it without reading or copying it again.
+     */
+    public static final String RAW_BODY_ATTRIBUTE = "dev.kiket.sdk.webhook.body";
+
+    /**
+     * Largest webhook body accepted; larger deliveries are rejected with {@code 413}.
+     */
+    public static final int MAX_BODY_SIZE = 10 * 1024 * 1024;
+
+    static final int INITIAL_BUFFER_SIZE = 8192;
+
+    private final WebhookSignatureVerifier verifier;
 
     public WebhookAuthFilter(String secret) {
-        this.secret = secret;
+        this.verifier = new WebhookSignatureVerifier(secret);
+    }
+
+    /**
+     * @param secrets Active delivery secrets, most likely first
+     */
+    public WebhookAuthFilter(List<String> secrets) {
+        this.verifier = new WebhookSignatureVerifier(secrets);
+    }
+
+    /**
+     * @param secrets Active delivery secrets, most likely first
+     * @param replayCache Cache used to reject replayed deliveries, or {@code null} to disable
+     */
+    public WebhookAuthFilter(List<String> secrets, ReplayCache replayCache) {
+        this.verifier = new WebhookSignatureVerifier(secrets, replayCache);
     }
 
     @Override
@@ -39,68 +62,119 @@ public class WebhookAuthFilter implements Filter {
             return;
         }
 
-        String signature = httpRequest.getHeader("X-Kiket-Signature");
-        String timestamp = httpRequest.getHeader("X-Kiket-Timestamp");
+        String signature = httpRequest.getHeader(WebhookSignatureVerifier.SIGNATURE_HEADER);
+        String timestamp = httpRequest.getHeader(WebhookSignatureVerifier.TIMESTAMP_HEADER);
 
-        if (signature == null || timestamp == null) {
-            httpResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            httpResponse.getWriter().write("{\"error\": \"Missing signature headers\"}");
+        WebhookSignatureVerifier.Failure failure = verifier.checkHeaders(signature, timestamp);
+        if (failure != null) {
+            reject(httpResponse, failure);
             return;
         }
 
-        // Verify timestamp (5 minute window)
-        long now = System.currentTimeMillis() / 1000;
-        long requestTime;
-        try {
-            requestTime = Long.parseLong(timestamp);
-        } catch (NumberFormatException e) {
-            httpResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            httpResponse.getWriter().write("{\"error\": \"Invalid timestamp\"}");
+        if (httpRequest.getContentLengthLong() > MAX_BODY_SIZE) {
+            reject(httpResponse, WebhookSignatureVerifier.Failure.PAYLOAD_TOO_LARGE);
             return;
         }
 
-        long timeDiff = Math.abs(now - requestTime);
-        if (timeDiff > 300) {
-            httpResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            httpResponse.getWriter().write("{\"error\": \"Request timestamp too old\"}");
+        // Stream the raw body into the HMAC while caching the exact bytes
+        WebhookSignatureVerifier.Verification verification = verifier.begin(timestamp, httpRequest.getHeader(WebhookSignatureVerifier.KEY_ID_HEADER));
+        byte[] body = readBody(httpRequest, verification);
+        if (body == null) {
+            reject(httpResponse, WebhookSignatureVerifier.Failure.PAYLOAD_TOO_LARGE);
             return;
         }
 
-        // Read body and verify signature
-        String body = httpRequest.getReader().lines()
-            .reduce("", (accumulator, actual) -> accumulator + actual);
+        failure = verification.finish(signature, body);
+        if (failure != null) {
+            reject(httpResponse, failure);
+            return;
+        }
 
-        String payload = timestamp + "." + body;
-        String expectedSignature;
+        request.setAttribute(RAW_BODY_ATTRIBUTE, body);
         try {
-            expectedSignature = computeHmacSha256(secret, payload);
-        } catch (Exception e) {
-            httpResponse.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            httpResponse.getWriter().write("{\"error\": \"Signature verification failed\"}");
-            return;
+            chain.doFilter(new CachedBodyRequest(httpRequest, body), response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            verification.forget();
+            throw e;
+        }
+        if (httpRequest.isAsyncStarted()) {
+            httpRequest.getAsyncContext().addListener(new ReplayRelease(verification, httpResponse));
+        } else if (!isSuccess(httpResponse.getStatus())) {
+            verification.forget();
         }
+    }
 
-        if (!MessageDigest.isEqual(signature.getBytes(StandardCharsets.UTF_8),
-                                    expectedSignature.getBytes(StandardCharsets.UTF_8))) {
-            httpResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            httpResponse.getWriter().write("{\"error\": \"Invalid signature\"}");
-            return;
+    private static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    /**
+     * @return the body, or {@code null} if it is larger than {@link #MAX_BODY_SIZE}
+     */
+    private static byte[] readBody(HttpServletRequest request, WebhookSignatureVerifier.Verification verification)
+            throws IOException {
+        int contentLength = request.getContentLength();
+        // The declared length is only a hint; grow towards it as data actually arrives
+        int limit = contentLength > 0 ? contentLength : MAX_BODY_SIZE + 1;
+        byte[] body = new byte[Math.min(limit, INITIAL_BUFFER_SIZE)];
+        int size = 0;
+
+        InputStream input = request.getInputStream();
+        int read;
+        while ((read = input.read(body, size, body.length - size)) > 0) {
+            verification.update(body, size, read);
+            size += read;
+            if (size == body.length) {
+                if (size == contentLength) {
+                    break;
+                }
+                if (size > MAX_BODY_SIZE) {
+                    return null;
+                }
+                body = Arrays.copyOf(body, Math.min(body.length * 2, limit));
+            }
         }
+        return size == body.length ? body : Arrays.copyOf(body, size);
+    }
 
-        chain.doFilter(request, response);
+    private static void reject(HttpServletResponse response, WebhookSignatureVerifier.Failure failure)
+            throws IOException {
+        response.setStatus(failure.getStatus());
+        response.getWriter().write(failure.toJson());
     }
 
-    private String computeHmacSha256(String key, String data)
-            throws NoSuchAlgorithmException, InvalidKeyException {
-        Mac mac = Mac.getInstance("HmacSHA256");
-        SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-        mac.init(secretKeySpec);
-        byte[] hmac = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    /**
+     * Forgets the replay mark of an asynchronously handled delivery that does
+     * not complete with a successful response.
+     */
+    private static class ReplayRelease implements AsyncListener {
+        private final WebhookSignatureVerifier.Verification verification;
+        private final HttpServletResponse response;
+
+        ReplayRelease(WebhookSignatureVerifier.Verification verification, HttpServletResponse response) {
+            this.verification = verification;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (!isSuccess(response.getStatus())) {
+                verification.forget();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            verification.forget();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            verification.forget();
+        }
 
-        StringBuilder result = new StringBuilder();
-        for (byte b : hmac) {
-            result.append(String.format("%02x", b));
+        @Override
+        public void onStartAsync(AsyncEvent event) {
         }
-        return result.toString();
     }
 }
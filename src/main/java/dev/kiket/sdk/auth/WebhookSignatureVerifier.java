@@ -0,0 +1,258 @@
+package dev.kiket.sdk.auth;
+
+import javax.crypto.Mac;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Verifies Kiket webhook signatures independently of the server stack.
+ * Shared by {@link WebhookAuthFilter} and {@link ReactiveWebhookAuthFilter}.
+ *
+ * <p>Several secrets can be active at once while a delivery secret is rotated.
+ * The body is streamed into a single candidate key: the one named by the
+ * {@value #KEY_ID_HEADER} header if present, otherwise the key that verified
+ * the previous delivery. Other keys are only tried if that one does not match.
+ */
+public class WebhookSignatureVerifier {
+    public static final String SIGNATURE_HEADER = "X-Kiket-Signature";
+    public static final String TIMESTAMP_HEADER = "X-Kiket-Timestamp";
+    public static final String KEY_ID_HEADER = "X-Kiket-Key-Id";
+
+    static final long TOLERANCE_SECONDS = 300;
+
+    private final HmacKey[] keys;
+    private final ReplayCache replayCache;
+    private volatile int preferredKey;
+
+    public WebhookSignatureVerifier(String secret) {
+        this(secret != null ? List.of(secret) : List.of());
+    }
+
+    /**
+     * @param secrets Active secrets, most likely first
+     */
+    public WebhookSignatureVerifier(List<String> secrets) {
+        this(secrets, null);
+    }
+
+    /**
+     * @param secrets Active secrets, most likely first
+     * @param replayCache Cache used to reject replayed deliveries, or {@code null} to disable
+     */
+    public WebhookSignatureVerifier(List<String> secrets, ReplayCache replayCache) {
+        this.keys = secrets.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .map(HmacKey::new)
+            .toArray(HmacKey[]::new);
+        this.replayCache = replayCache;
+    }
+
+    /**
+     * Check the signature headers before the body is read.
+     *
+     * @return the failure, or {@code null} if the headers are acceptable
+     */
+    public Failure checkHeaders(String signature, String timestamp) {
+        if (signature == null || timestamp == null) {
+            return Failure.MISSING_HEADERS;
+        }
+
+        // Verify timestamp (5 minute window)
+        long now = System.currentTimeMillis() / 1000;
+        long requestTime;
+        try {
+            requestTime = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return Failure.INVALID_TIMESTAMP;
+        }
+
+        if (Math.abs(now - requestTime) > TOLERANCE_SECONDS) {
+            return Failure.EXPIRED_TIMESTAMP;
+        }
+        return null;
+    }
+
+    /**
+     * Start verifying a request body. The body is fed to the returned
+     * verification as it is read, so it is hashed in a single pass without
+     * building an intermediate string.
+     *
+     * @param timestamp Value of the timestamp header, already checked by {@link #checkHeaders}
+     * @param keyId Value of the key-id header, or {@code null}
+     */
+    public Verification begin(String timestamp, String keyId) {
+        if (keys.length == 0) {
+            return new Verification(-1, null, timestamp);
+        }
+        int candidate = keyIndex(keyId);
+        try {
+            Mac mac = keys[candidate].acquire();
+            mac.update(timestamp.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) '.');
+            return new Verification(candidate, mac, timestamp);
+        } catch (GeneralSecurityException e) {
+            return new Verification(-1, null, timestamp);
+        }
+    }
+
+    private int keyIndex(String keyId) {
+        if (keyId != null) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].getId().equals(keyId)) {
+                    return i;
+                }
+            }
+        }
+        return preferredKey;
+    }
+
+    /**
+     * Decode a lowercase or uppercase hex string.
+     *
+     * @return the decoded bytes, or {@code null} if the value is not valid hex
+     */
+    static byte[] decodeHex(String hex) {
+        int length = hex.length();
+        if ((length & 1) != 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), 16);
+            int low = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+
+    /**
+     * Incremental signature check over a streamed request body.
+     */
+    public class Verification {
+        private final int candidate;
+        private final Mac mac;
+        private final String timestamp;
+        private long fingerprint;
+        private boolean marked;
+
+        private Verification(int candidate, Mac mac, String timestamp) {
+            this.candidate = candidate;
+            this.mac = mac;
+            this.timestamp = timestamp;
+        }
+
+        public void update(byte[] chunk, int offset, int length) {
+            if (mac != null) {
+                mac.update(chunk, offset, length);
+            }
+        }
+
+        /**
+         * Complete the digest and compare it with the signature header. The
+         * header is decoded to raw bytes and compared in constant time, so no
+         * hex string is built for the expected digest. If the streamed key does
+         * not match, the remaining active keys are tried against the buffered body.
+         *
+         * @param signature Value of the signature header
+         * @param body The complete body that was streamed through {@link #update}
+         * @return the failure, or {@code null} if the signature matches
+         */
+        public Failure finish(String signature, byte[] body) {
+            if (mac == null) {
+                return Failure.VERIFICATION_ERROR;
+            }
+            byte[] expected = mac.doFinal();
+            keys[candidate].release(mac);
+
+            byte[] provided = decodeHex(signature);
+            if (provided == null) {
+                return Failure.INVALID_SIGNATURE;
+            }
+            if (MessageDigest.isEqual(provided, expected)) {
+                return checkReplay(provided);
+            }
+
+            byte[] timestampBytes = timestamp.getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < keys.length; i++) {
+                if (i == candidate) {
+                    continue;
+                }
+                try {
+                    if (MessageDigest.isEqual(provided, keys[i].sign(timestampBytes, body))) {
+                        preferredKey = i;
+                        return checkReplay(provided);
+                    }
+                } catch (GeneralSecurityException e) {
+                    return Failure.VERIFICATION_ERROR;
+                }
+            }
+            return Failure.INVALID_SIGNATURE;
+        }
+
+        private Failure checkReplay(byte[] signature) {
+            if (replayCache == null) {
+                return null;
+            }
+            // The verified digest is already uniformly distributed; its first 8 bytes identify the delivery
+            fingerprint = ByteBuffer.wrap(signature).getLong();
+            marked = replayCache.markSeen(Long.parseLong(timestamp), fingerprint);
+            return marked ? null : Failure.REPLAYED;
+        }
+
+        /**
+         * Undo the replay mark set by {@link #finish}. Called when the delivery
+         * was not handled successfully, so the sender's retry of the same signed
+         * delivery is accepted instead of rejected as a replay.
+         */
+        public void forget() {
+            if (marked) {
+                marked = false;
+                replayCache.forget(Long.parseLong(timestamp), fingerprint);
+            }
+        }
+    }
+
+    /**
+     * Reasons a webhook request is rejected.
+     */
+    public enum Failure {
+        MISSING_HEADERS(401, "Missing signature headers"),
+        INVALID_TIMESTAMP(401, "Invalid timestamp"),
+        EXPIRED_TIMESTAMP(401, "Request timestamp too old"),
+        INVALID_SIGNATURE(401, "Invalid signature"),
+        REPLAYED(409, "Duplicate delivery"),
+        PAYLOAD_TOO_LARGE(413, "Payload too large"),
+        VERIFICATION_ERROR(500, "Signature verification failed");
+
+        private final int status;
+        private final String message;
+
+        Failure(int status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * JSON error body written to the response.
+         */
+        public String toJson() {
+            return "{\"error\": \"" + message + "\"}";
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package dev.kiket.sdk.client;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker for one route, see {@link CircuitBreakerOptions}.
+ *
+ * <p>Outcomes are kept in a ring buffer of flags with running totals, so
+ * recording a call and checking the thresholds are constant time. A permit
+ * is tagged with the breaker's generation, which changes on every state
+ * transition, so calls started before a transition do not count afterwards.
+ */
+class CircuitBreaker {
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final String route;
+    private final CircuitBreakerOptions options;
+    private final CircuitBreakerListener listener;
+    private final LongSupplier clock;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    private final byte[] window;
+    private int next;
+    private int buffered;
+    private int failures;
+    private int slowCalls;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+    private long rejected;
+
+    CircuitBreaker(String route, CircuitBreakerOptions options, CircuitBreakerListener listener, LongSupplier clock) {
+        this.route = route;
+        this.options = options;
+        this.listener = listener;
+        this.clock = clock;
+        this.slowCallNanos = options.getSlowCallDuration().toNanos();
+        this.openNanos = options.getOpenDuration().toNanos();
+        this.window = new byte[Math.max(1, options.getWindowSize())];
+    }
+
+    /**
+     * @return a permit to pass to {@link #onComplete} or {@link #onCancel},
+     *         or {@code -1} if the call is rejected
+     */
+    long tryAcquire() {
+        CircuitState from;
+        CircuitState to;
+        long permit;
+        synchronized (this) {
+            from = state;
+            if (state == CircuitState.OPEN) {
+                if (clock.getAsLong() - openedAt < openNanos) {
+                    rejected++;
+                    return -1;
+                }
+                transition(CircuitState.HALF_OPEN);
+            }
+            if (state == CircuitState.HALF_OPEN) {
+                if (probesStarted >= options.getHalfOpenProbes()) {
+                    rejected++;
+                    return -1;
+                }
+                probesStarted++;
+            }
+            permit = generation;
+            to = state;
+        }
+        notifyIfChanged(from, to);
+        return permit;
+    }
+
+    /**
+     * Time until an open breaker lets a probe through.
+     */
+    synchronized Duration retryAfter() {
+        long remaining = openNanos - (clock.getAsLong() - openedAt);
+        return Duration.ofNanos(Math.max(0, remaining));
+    }
+
+    void onComplete(long permit, boolean failed, long elapsedNanos) {
+        CircuitState from;
+        CircuitState to;
+        synchronized (this) {
+            if (permit != generation) {
+                return;
+            }
+            from = state;
+            boolean slow = elapsedNanos >= slowCallNanos;
+            if (state == CircuitState.HALF_OPEN) {
+                if (failed || slow) {
+                    open();
+                } else if (++probesSucceeded >= options.getHalfOpenProbes()) {
+                    transition(CircuitState.CLOSED);
+                }
+            } else {
+                record(failed, slow);
+                if (buffered >= options.getMinimumCalls()
+                    && (failures >= options.getFailureRateThreshold() * buffered
+                        || slowCalls >= options.getSlowCallRateThreshold() * buffered)) {
+                    open();
+                }
+            }
+            to = state;
+        }
+        notifyIfChanged(from, to);
+    }
+
+    /**
+     * A call was cancelled before completing. Cancellations after the
+     * slow-call duration count as failures; earlier ones only return the permit.
+     */
+    void onCancel(long permit, long elapsedNanos) {
+        if (elapsedNanos >= slowCallNanos) {
+            onComplete(permit, true, elapsedNanos);
+            return;
+        }
+        synchronized (this) {
+            if (permit == generation && state == CircuitState.HALF_OPEN) {
+                probesStarted--;
+            }
+        }
+    }
+
+    synchronized CircuitBreakerMetrics metrics() {
+        return CircuitBreakerMetrics.builder()
+            .route(route)
+            .state(state)
+            .failureRate(buffered == 0 ? 0 : (double) failures / buffered)
+            .slowCallRate(buffered == 0 ? 0 : (double) slowCalls / buffered)
+            .bufferedCalls(buffered)
+            .rejectedCalls(rejected)
+            .build();
+    }
+
+    synchronized CircuitState state() {
+        return state;
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (buffered == window.length) {
+            byte evicted = window[next];
+            if ((evicted & FAILED) != 0) {
+                failures--;
+            }
+            if ((evicted & SLOW) != 0) {
+                slowCalls--;
+            }
+        } else {
+            buffered++;
+        }
+        window[next] = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        next = (next + 1) % window.length;
+        if (failed) {
+            failures++;
+        }
+        if (slow) {
+            slowCalls++;
+        }
+    }
+
+    private void open() {
+        openedAt = clock.getAsLong();
+        transition(CircuitState.OPEN);
+    }
+
+    private void transition(CircuitState to) {
+        state = to;
+        generation++;
+        probesStarted = 0;
+        probesSucceeded = 0;
+        if (to == CircuitState.CLOSED) {
+            buffered = 0;
+            failures = 0;
+            slowCalls = 0;
+            next = 0;
+        }
+    }
+
+    private void notifyIfChanged(CircuitState from, CircuitState to) {
+        if (from == to || listener == null) {
+            return;
+        }
+        try {
+            listener.onStateChange(route, from, to);
+        } catch (Exception e) {
+            System.err.println("Circuit breaker listener failed: " + e.getMessage());
+        }
+    }
+}
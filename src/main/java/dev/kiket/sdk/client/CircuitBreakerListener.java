@@ -0,0 +1,9 @@
+package dev.kiket.sdk.client;
+
+/**
+ * Notified when a circuit breaker changes state.
+ */
+@FunctionalInterface
+public interface CircuitBreakerListener {
+    void onStateChange(String route, CircuitState from, CircuitState to);
+}
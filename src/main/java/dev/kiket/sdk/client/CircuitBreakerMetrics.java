@@ -0,0 +1,34 @@
+package dev.kiket.sdk.client;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Snapshot of the circuit breaker guarding one API route.
+ */
+@Data
+@Builder
+public class CircuitBreakerMetrics {
+    private final String route;
+    private final CircuitState state;
+
+    /**
+     * Fraction of failed calls in the sliding window.
+     */
+    private final double failureRate;
+
+    /**
+     * Fraction of calls in the sliding window slower than the threshold.
+     */
+    private final double slowCallRate;
+
+    /**
+     * Calls recorded in the sliding window.
+     */
+    private final int bufferedCalls;
+
+    /**
+     * Calls rejected without being sent since the breaker was created.
+     */
+    private final long rejectedCalls;
+}
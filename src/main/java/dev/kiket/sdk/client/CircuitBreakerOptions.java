@@ -0,0 +1,55 @@
+package dev.kiket.sdk.client;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Settings of the circuit breakers guarding each API route.
+ *
+ * <p>A breaker records the outcome of the last {@link #windowSize} calls to
+ * its route. Once at least {@link #minimumCalls} are recorded and either the
+ * failure rate or the slow-call rate reaches its threshold, the breaker opens
+ * and calls fail immediately for {@link #openDuration}. It then lets
+ * {@link #halfOpenProbes} calls through, closing if all succeed and reopening
+ * on the first failure.
+ */
+@Data
+@Builder
+public class CircuitBreakerOptions {
+    @Builder.Default
+    private boolean enabled = true;
+
+    @Builder.Default
+    private int windowSize = 50;
+
+    @Builder.Default
+    private int minimumCalls = 10;
+
+    @Builder.Default
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * Calls taking at least this long count as slow, even if they succeed.
+     */
+    @Builder.Default
+    private Duration slowCallDuration = Duration.ofSeconds(5);
+
+    @Builder.Default
+    private double slowCallRateThreshold = 0.8;
+
+    @Builder.Default
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    @Builder.Default
+    private int halfOpenProbes = 3;
+
+    public static CircuitBreakerOptions defaults() {
+        return CircuitBreakerOptions.builder().build();
+    }
+
+    public static CircuitBreakerOptions disabled() {
+        return CircuitBreakerOptions.builder().enabled(false).build();
+    }
+}
@@ -0,0 +1,57 @@
+package dev.kiket.sdk.client;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Circuit breakers keyed by route template, shared by every client of a
+ * {@link KiketClientFactory}.
+ */
+class CircuitBreakers {
+    private final CircuitBreakerOptions options;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+
+    CircuitBreakers(CircuitBreakerOptions options) {
+        this.options = options;
+    }
+
+    boolean isEnabled() {
+        return options.isEnabled();
+    }
+
+    /**
+     * Breaker guarding the route of {@code path}.
+     */
+    CircuitBreaker forPath(String path) {
+        String route = RouteTemplates.template(path);
+        return breakers.computeIfAbsent(route,
+            r -> new CircuitBreaker(r, options, this::notifyListeners, System::nanoTime));
+    }
+
+    void addListener(CircuitBreakerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Metrics of every breaker, by route template.
+     */
+    Map<String, CircuitBreakerMetrics> metrics() {
+        Map<String, CircuitBreakerMetrics> metrics = new TreeMap<>();
+        breakers.forEach((route, breaker) -> metrics.put(route, breaker.metrics()));
+        return metrics;
+    }
+
+    private void notifyListeners(String route, CircuitState from, CircuitState to) {
+        for (CircuitBreakerListener listener : listeners) {
+            try {
+                listener.onStateChange(route, from, to);
+            } catch (Exception e) {
+                System.err.println("Circuit breaker listener failed: " + e.getMessage());
+            }
+        }
+    }
+}
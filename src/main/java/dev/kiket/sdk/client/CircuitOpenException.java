@@ -0,0 +1,31 @@
+package dev.kiket.sdk.client;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of calling an API route whose circuit breaker is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+    private final String route;
+    private final Duration retryAfter;
+
+    public CircuitOpenException(String route, Duration retryAfter) {
+        super("Circuit open for " + route);
+        this.route = route;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Route template of the failing endpoint.
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * Time until the breaker lets a probe call through.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
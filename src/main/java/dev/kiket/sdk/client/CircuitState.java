@@ -0,0 +1,21 @@
+package dev.kiket.sdk.client;
+
+/**
+ * State of a circuit breaker guarding one API route.
+ */
+public enum CircuitState {
+    /**
+     * Calls pass through and their outcomes are recorded.
+     */
+    CLOSED,
+
+    /**
+     * Calls fail immediately with {@link CircuitOpenException}.
+     */
+    OPEN,
+
+    /**
+     * A limited number of probe calls decide whether to close or reopen.
+     */
+    HALF_OPEN
+}
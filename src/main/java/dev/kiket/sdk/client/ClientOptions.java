@@ -0,0 +1,111 @@
+package dev.kiket.sdk.client;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Connection, retry, rate limit, circuit breaker, caching and hedging settings for the HTTP client shared by all
+ * {@link KiketClient}s. Unset connection values keep the Reactor Netty defaults.
+ */
+@Data
+@Builder
+public class ClientOptions {
+    /**
+     * Maximum connections per remote host.
+     */
+    private Integer maxConnections;
+
+    /**
+     * Maximum requests waiting for a connection once the pool is exhausted;
+     * further requests fail immediately.
+     */
+    private Integer pendingAcquireMaxCount;
+
+    /**
+     * How long a request waits for a pooled connection before failing.
+     */
+    private Duration pendingAcquireTimeout;
+
+    /**
+     * Idle time after which a pooled connection is closed.
+     */
+    private Duration maxIdleTime;
+
+    /**
+     * Total lifetime after which a pooled connection is closed.
+     */
+    private Duration maxLifeTime;
+
+    /**
+     * Interval of background eviction of idle and expired connections.
+     */
+    private Duration evictInBackground;
+
+    private Duration connectTimeout;
+
+    /**
+     * Maximum time between sending a request and receiving its response.
+     */
+    private Duration responseTimeout;
+
+    /**
+     * Negotiate HTTP/2 (multiplexing requests over fewer connections), falling
+     * back to HTTP/1.1 when the server does not support it. Plain-text base URLs
+     * use an HTTP/1.1 Upgrade to h2c rather than prior knowledge.
+     */
+    private boolean http2;
+
+    @Builder.Default
+    private boolean keepAlive = true;
+
+    /**
+     * Retry behaviour of each client; use {@link RetryPolicy#disabled()} to
+     * fail on the first error.
+     */
+    @Builder.Default
+    private RetryPolicy retry = RetryPolicy.defaults();
+
+    /**
+     * Handling of requests once the rate limit reported by the server is
+     * exhausted.
+     */
+    @Builder.Default
+    private RateLimitMode rateLimitMode = RateLimitMode.QUEUE;
+
+    /**
+     * Longest a request waits for rate limit in {@link RateLimitMode#QUEUE} mode.
+     */
+    @Builder.Default
+    private Duration rateLimitMaxWait = Duration.ofSeconds(30);
+
+    /**
+     * Circuit breakers guarding each API route, shared by all clients.
+     */
+    @Builder.Default
+    private CircuitBreakerOptions circuitBreaker = CircuitBreakerOptions.defaults();
+
+    /**
+     * Let concurrent GETs of the same path by the same client (workspace
+     * token, event version and API key) share one request.
+     */
+    @Builder.Default
+    private boolean coalesceGets = true;
+
+    /**
+     * Cache of GET responses shared by all clients; disabled by default.
+     */
+    @Builder.Default
+    private ResponseCacheOptions responseCache = ResponseCacheOptions.disabled();
+
+    /**
+     * Hedging of slow GETs; disabled by default.
+     */
+    @Builder.Default
+    private HedgingOptions hedging = HedgingOptions.disabled();
+
+    public static ClientOptions defaults() {
+        return ClientOptions.builder().build();
+    }
+}
@@ -0,0 +1,73 @@
+package dev.kiket.sdk.client;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Hedges GET requests, see {@link HedgingOptions}. Latency is tracked per
+ * route template and the hedge budget is shared by every client of a
+ * {@link KiketClientFactory}.
+ */
+class Hedging {
+    private final HedgingOptions options;
+    private final RequestBudget budget;
+    private final long minDelayNanos;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final AtomicLong hedged = new AtomicLong();
+
+    Hedging(HedgingOptions options) {
+        this.options = options;
+        this.budget = new RequestBudget(options.getBudgetRatio(), options.getBudgetCapacity());
+        this.minDelayNanos = options.getMinDelay().toNanos();
+    }
+
+    /**
+     * Send the request, and a second one if the first is slow; the first
+     * response wins. A failed hedge is ignored in favour of the original
+     * request, whose failure is reported as usual.
+     */
+    <T> Mono<T> hedge(String path, Supplier<Mono<T>> request) {
+        LatencyHistogram histogram = histograms.computeIfAbsent(RouteTemplates.template(path),
+            route -> new LatencyHistogram());
+        return Mono.defer(() -> {
+            budget.onRequest();
+            Mono<T> primary = timed(request.get(), histogram);
+            if (histogram.count() < options.getMinSamples()) {
+                return primary;
+            }
+            long delay = Math.max(minDelayNanos, histogram.percentile(options.getPercentile()));
+            Mono<T> backup = Mono.delay(Duration.ofNanos(delay)).flatMap(tick -> {
+                if (!budget.tryAcquire()) {
+                    return Mono.never();
+                }
+                hedged.incrementAndGet();
+                return timed(request.get(), histogram).onErrorResume(e -> Mono.never());
+            });
+            return Mono.firstWithSignal(primary, backup);
+        });
+    }
+
+    /**
+     * Number of hedge requests sent.
+     */
+    long hedged() {
+        return hedged.get();
+    }
+
+    /**
+     * Record the latency of every attempt that completes, failed ones included,
+     * so slow failures raise the hedge delay instead of leaving it to the fast
+     * successes. Cancelled attempts never finished and are not recorded.
+     */
+    private static <T> Mono<T> timed(Mono<T> request, LatencyHistogram histogram) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return request.doOnTerminate(() -> histogram.record(System.nanoTime() - started));
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package dev.kiket.sdk.client;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Settings of GET request hedging.
+ *
+ * <p>When a GET has not been answered within the {@link #percentile} of
+ * recent response times of its route, a second identical request is sent;
+ * the first response wins and the other request is cancelled. Hedges draw
+ * from a budget shared by all clients that earns {@link #budgetRatio} per GET,
+ * so they add at most that fraction of extra requests even when every
+ * request is slow.
+ */
+@Data
+@Builder
+public class HedgingOptions {
+    @Builder.Default
+    private boolean enabled = false;
+
+    /**
+     * Latency percentile after which a hedge is sent.
+     */
+    @Builder.Default
+    private double percentile = 0.95;
+
+    /**
+     * Hedges earned per GET.
+     */
+    @Builder.Default
+    private double budgetRatio = 0.05;
+
+    /**
+     * Maximum hedges that can be sent in a burst.
+     */
+    @Builder.Default
+    private int budgetCapacity = 10;
+
+    /**
+     * Responses recorded for a route before its requests are hedged.
+     */
+    @Builder.Default
+    private int minSamples = 50;
+
+    /**
+     * Lower bound of the hedging delay.
+     */
+    @Builder.Default
+    private Duration minDelay = Duration.ofMillis(5);
+
+    public static HedgingOptions disabled() {
+        return HedgingOptions.builder().build();
+    }
+
+    public static HedgingOptions enabled() {
+        return HedgingOptions.builder().enabled(true).build();
+    }
+}
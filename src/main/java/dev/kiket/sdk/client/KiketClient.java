@@ -1,78 +1,431 @@
 package dev.kiket.sdk.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * HTTP client for Kiket API.
+ *
+ * <p>Transient failures are retried according to the client's
+ * {@link RetryPolicy}, within the deadline set by {@link #withDeadline}.
+ * Requests are paced to the rate limit reported in response headers, see
+ * {@link RateLimitMode}, and fail fast with {@link CircuitOpenException} while
+ * their route is failing, see {@link CircuitBreakerOptions}. Concurrent
+ * identical GETs share a single request.
  */
 public class KiketClient {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final ObjectMapper CACHE_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
     private final WebClient webClient;
     private final String workspaceToken;
     private final String eventVersion;
     private final String extensionApiKey;
+    private final Instant deadline;
+    private final RetryPolicy retryPolicy;
+    private final RequestBudget retryBudget;
+    private final RateLimitMode rateLimitMode;
+    private final Duration rateLimitMaxWait;
+    private final RateLimiter rateLimiter;
+    private final CircuitBreakers circuitBreakers;
+    private final boolean coalesceGets;
+    private final Map<String, Mono<byte[]>> inFlight;
+    private final ResponseCache responseCache;
+    private final Hedging hedging;
+    private final Identity identity;
 
     public KiketClient(String baseUrl, String workspaceToken, String eventVersion) {
         this(baseUrl, workspaceToken, eventVersion, null);
     }
 
     public KiketClient(String baseUrl, String workspaceToken, String eventVersion, String extensionApiKey) {
+        this(baseUrl, workspaceToken, eventVersion, extensionApiKey, RetryPolicy.disabled());
+    }
+
+    /**
+     * Standalone client. It does not pace requests to the rate limit; use
+     * {@link KiketClientFactory} for clients sharing a rate limit window.
+     */
+    public KiketClient(
+        String baseUrl,
+        String workspaceToken,
+        String eventVersion,
+        String extensionApiKey,
+        RetryPolicy retryPolicy
+    ) {
+        this(webClientBuilder(baseUrl).build(), workspaceToken, eventVersion, extensionApiKey,
+            ClientOptions.builder().retry(retryPolicy).rateLimitMode(RateLimitMode.OFF).build(),
+            new RateLimiter(), new CircuitBreakers(CircuitBreakerOptions.defaults()), null, null);
+    }
+
+    /**
+     * Client over a shared {@link WebClient}, rate limiter, circuit breakers,
+     * response cache and hedging state, see {@link KiketClientFactory}.
+     *
+     * @param rateLimiter Rate limit window of the client's workspace token and API key
+     * @param responseCache Cache of GET responses, or {@code null} to disable
+     * @param hedging GET hedging, or {@code null} to disable
+     */
+    KiketClient(
+        WebClient webClient,
+        String workspaceToken,
+        String eventVersion,
+        String extensionApiKey,
+        ClientOptions options,
+        RateLimiter rateLimiter,
+        CircuitBreakers circuitBreakers,
+        ResponseCache responseCache,
+        Hedging hedging
+    ) {
+        this.webClient = webClient;
         this.workspaceToken = workspaceToken;
         this.eventVersion = eventVersion;
         this.extensionApiKey = extensionApiKey;
+        this.deadline = null;
+        this.retryPolicy = options.getRetry() != null ? options.getRetry() : RetryPolicy.disabled();
+        this.retryBudget = new RequestBudget(retryPolicy.getBudgetRatio(), retryPolicy.getBudgetCapacity());
+        this.rateLimitMode = options.getRateLimitMode() != null ? options.getRateLimitMode() : RateLimitMode.OFF;
+        this.rateLimitMaxWait = options.getRateLimitMaxWait() != null ? options.getRateLimitMaxWait() : Duration.ZERO;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreakers = circuitBreakers;
+        this.coalesceGets = options.isCoalesceGets();
+        this.inFlight = new ConcurrentHashMap<>();
+        this.responseCache = responseCache;
+        this.hedging = hedging;
+        this.identity = new Identity(workspaceToken, eventVersion, extensionApiKey);
+    }
 
-        this.webClient = WebClient.builder()
+    static WebClient.Builder webClientBuilder(String baseUrl) {
+        return WebClient.builder()
             .baseUrl(baseUrl)
             .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-            .defaultHeader(HttpHeaders.USER_AGENT, "kiket-sdk-java/0.1.0")
-            .build();
+            .defaultHeader(HttpHeaders.USER_AGENT, "kiket-sdk-java/0.1.0");
     }
 
+    private KiketClient(KiketClient source, Instant deadline) {
+        this.webClient = source.webClient;
+        this.workspaceToken = source.workspaceToken;
+        this.eventVersion = source.eventVersion;
+        this.extensionApiKey = source.extensionApiKey;
+        this.deadline = deadline;
+        this.retryPolicy = source.retryPolicy;
+        this.retryBudget = source.retryBudget;
+        this.rateLimitMode = source.rateLimitMode;
+        this.rateLimitMaxWait = source.rateLimitMaxWait;
+        this.rateLimiter = source.rateLimiter;
+        this.circuitBreakers = source.circuitBreakers;
+        this.coalesceGets = source.coalesceGets;
+        this.inFlight = source.inFlight;
+        this.responseCache = source.responseCache;
+        this.hedging = source.hedging;
+        this.identity = source.identity;
+    }
+
+    /**
+     * Client sharing this client's connections whose requests are cancelled
+     * once {@code deadline} passes. Requests started after the deadline fail
+     * immediately with a {@link TimeoutException}.
+     */
+    public KiketClient withDeadline(Instant deadline) {
+        return new KiketClient(this, deadline);
+    }
+
+    /**
+     * GET that shares one request with concurrent GETs of the same path from
+     * this client, unless disabled through {@link ClientOptions}. Each
+     * coalesced caller decodes its own response object. With a response cache configured,
+     * fresh cached responses are served without a request and stale ones are
+     * revalidated. With hedging configured, a slow GET is raced against a
+     * second request.
+     */
     public <T> Mono<T> get(String path, Class<T> responseType) {
-        return webClient.get()
-            .uri(path)
-            .headers(this::addAuthHeaders)
-            .retrieve()
-            .bodyToMono(responseType);
+        if (!coalesceGets) {
+            return bounded(load(path, responseType));
+        }
+        return bounded(Mono.defer(() -> coalesced(path, responseType)));
     }
 
+    /**
+     * POST with an {@code Idempotency-Key} header, generated once per
+     * subscription so that retries of the same call are not applied twice,
+     * while subscribing again sends a new request.
+     */
     public <T> Mono<T> post(String path, Object body, Class<T> responseType) {
-        return webClient.post()
-            .uri(path)
-            .headers(this::addAuthHeaders)
-            .bodyValue(body)
-            .retrieve()
-            .bodyToMono(responseType);
+        return execute(HttpMethod.POST, path, body, responseType);
     }
 
     public <T> Mono<T> put(String path, Object body, Class<T> responseType) {
-        return webClient.put()
-            .uri(path)
-            .headers(this::addAuthHeaders)
-            .bodyValue(body)
-            .retrieve()
-            .bodyToMono(responseType);
+        return execute(HttpMethod.PUT, path, body, responseType);
     }
 
     public <T> Mono<T> patch(String path, Object body, Class<T> responseType) {
-        return webClient.patch()
-            .uri(path)
-            .headers(this::addAuthHeaders)
-            .bodyValue(body)
-            .retrieve()
-            .bodyToMono(responseType);
+        return execute(HttpMethod.PATCH, path, body, responseType);
     }
 
     public <T> Mono<T> delete(String path, Class<T> responseType) {
-        return webClient.delete()
+        return execute(HttpMethod.DELETE, path, null, responseType);
+    }
+
+    private <T> Mono<T> execute(HttpMethod method, String path, Object body, Class<T> responseType) {
+        Mono<T> request = exchange(method, path, body, null, responseType)
+            .flatMap(response -> Mono.justOrEmpty(response.getBody()));
+        if (responseCache != null) {
+            // Drop cached copies (of the resource and its parent collection) before the
+            // caller sees the result, so a GET issued next is fresh
+            if (method == HttpMethod.POST) {
+                // A failed POST created nothing
+                request = request.doOnSuccess(value -> responseCache.invalidate(path));
+            } else {
+                request = request
+                    .doOnTerminate(() -> responseCache.invalidate(path))
+                    .doOnCancel(() -> responseCache.invalidate(path));
+            }
+        }
+        return bounded(request);
+    }
+
+    /**
+     * One logical request, with its retries, without this client's deadline.
+     * Each subscription is a new logical request with its own idempotency key.
+     *
+     * @param conditions Extra request headers, or {@code null}
+     */
+    private <T> Mono<ResponseEntity<T>> exchange(
+        HttpMethod method,
+        String path,
+        Object body,
+        Consumer<HttpHeaders> conditions,
+        Class<T> responseType
+    ) {
+        CircuitBreaker breaker = circuitBreakers.isEnabled() ? circuitBreakers.forPath(path) : null;
+        return Mono.defer(() -> {
+            retryBudget.onRequest();
+            // Shared by the retries of this subscription only
+            String idempotencyKey = method == HttpMethod.POST ? UUID.randomUUID().toString() : null;
+            Mono<ResponseEntity<T>> attempt = attempt(method, path, body, idempotencyKey, conditions, responseType, breaker);
+            if (retryPolicy.getMaxRetries() > 0) {
+                attempt = attempt.retryWhen(new RequestRetry(method, retryPolicy, retryBudget));
+            }
+            return attempt;
+        });
+    }
+
+    /**
+     * A single attempt, through the route's circuit breaker and the rate limiter.
+     */
+    private <T> Mono<ResponseEntity<T>> attempt(
+        HttpMethod method,
+        String path,
+        Object body,
+        String idempotencyKey,
+        Consumer<HttpHeaders> conditions,
+        Class<T> responseType,
+        CircuitBreaker breaker
+    ) {
+        return Mono.defer(() -> {
+            if (breaker == null) {
+                return acquireRateLimit().then(send(method, path, body, idempotencyKey, conditions, responseType));
+            }
+            long permit = breaker.tryAcquire();
+            if (permit < 0) {
+                return Mono.error(new CircuitOpenException(RouteTemplates.template(path), breaker.retryAfter()));
+            }
+            long[] sentAt = {-1};
+            Mono<ResponseEntity<T>> call = acquireRateLimit().then(Mono.defer(() -> {
+                sentAt[0] = System.nanoTime();
+                return send(method, path, body, idempotencyKey, conditions, responseType);
+            }));
+            return call
+                .doOnSuccess(value -> breaker.onComplete(permit, false, elapsed(sentAt[0])))
+                .doOnError(e -> {
+                    if (sentAt[0] < 0) {
+                        breaker.onCancel(permit, 0);
+                    } else {
+                        breaker.onComplete(permit, isFailure(e), elapsed(sentAt[0]));
+                    }
+                })
+                .doOnCancel(() -> breaker.onCancel(permit, elapsed(sentAt[0])));
+        });
+    }
+
+    /**
+     * Join the in-flight GET for the path, or start one. The request is
+     * cancelled only once every caller has cancelled, and is forgotten as
+     * soon as it completes, so later calls see fresh data. Callers share the
+     * response bytes and each decodes its own copy, so no two callers receive
+     * the same mutable object.
+     */
+    private <T> Mono<T> coalesced(String path, Class<T> responseType) {
+        Mono<byte[]> shared = inFlight.computeIfAbsent(path, k -> {
+            @SuppressWarnings("unchecked")
+            Mono<byte[]>[] flight = new Mono[1];
+            flight[0] = load(path, byte[].class)
+                // Forget the flight before its result is delivered, so callers
+                // reacting to it start a new request
+                .doOnTerminate(() -> inFlight.remove(k, flight[0]))
+                .doOnCancel(() -> inFlight.remove(k, flight[0]))
+                .share();
+            return flight[0];
+        });
+        return shared.flatMap(body -> decode(body, responseType));
+    }
+
+    /**
+     * GET through the response cache, if one is configured. Cached bodies are
+     * kept as bytes and decoded for each caller.
+     */
+    private <T> Mono<T> load(String path, Class<T> responseType) {
+        if (responseCache == null) {
+            return fetch(path, null, responseType)
+                .flatMap(response -> Mono.justOrEmpty(response.getBody()));
+        }
+        ResponseCache.Key key = new ResponseCache.Key(identity, path);
+        return Mono.defer(() -> {
+            ResponseCache.Entry cached = responseCache.get(key);
+            if (cached != null && responseCache.isFresh(cached)) {
+                return decode(cached.body(), responseType);
+            }
+            return fetch(path, cached != null ? cached::addConditions : null, byte[].class)
+                .flatMap(response -> {
+                    if (cached != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        responseCache.revalidated(key, cached, response.getHeaders());
+                        return decode(cached.body(), responseType);
+                    }
+                    if (response.getStatusCode().value() == HttpStatus.OK.value()) {
+                        responseCache.store(key, response.getHeaders(), response.getBody());
+                    }
+                    return decode(response.getBody(), responseType);
+                });
+        });
+    }
+
+    /**
+     * Network GET, hedged if configured.
+     */
+    private <T> Mono<ResponseEntity<T>> fetch(String path, Consumer<HttpHeaders> conditions, Class<T> responseType) {
+        if (hedging == null) {
+            return exchange(HttpMethod.GET, path, null, conditions, responseType);
+        }
+        return hedging.hedge(path, () -> exchange(HttpMethod.GET, path, null, conditions, responseType));
+    }
+
+    private static <T> Mono<T> decode(byte[] body, Class<T> responseType) {
+        if (body == null || body.length == 0) {
+            return Mono.empty();
+        }
+        if (responseType == byte[].class) {
+            return Mono.just(responseType.cast(body.clone()));
+        }
+        if (responseType == String.class) {
+            return Mono.just(responseType.cast(new String(body, StandardCharsets.UTF_8)));
+        }
+        return Mono.fromCallable(() -> CACHE_MAPPER.readValue(body, responseType));
+    }
+
+    private <T> Mono<ResponseEntity<T>> send(
+        HttpMethod method,
+        String path,
+        Object body,
+        String idempotencyKey,
+        Consumer<HttpHeaders> conditions,
+        Class<T> responseType
+    ) {
+        WebClient.RequestBodySpec request = webClient.method(method)
             .uri(path)
-            .headers(this::addAuthHeaders)
-            .retrieve()
-            .bodyToMono(responseType);
+            .headers(headers -> {
+                addAuthHeaders(headers);
+                if (idempotencyKey != null) {
+                    headers.set(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+                }
+                if (conditions != null) {
+                    conditions.accept(headers);
+                }
+            });
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return spec.retrieve()
+            .toEntity(responseType)
+            .doOnNext(response -> rateLimiter.observe(response.getHeaders()))
+            .doOnError(WebClientResponseException.class, e -> rateLimiter.observe(e.getHeaders()));
+    }
+
+    /**
+     * Whether a failed call counts against its route's circuit breaker:
+     * server errors and transport failures do, client errors do not.
+     */
+    private static boolean isFailure(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException;
+    }
+
+    private static long elapsed(long sentAt) {
+        return sentAt < 0 ? 0 : System.nanoTime() - sentAt;
+    }
+
+    /**
+     * Rate limit reported by recent responses, or {@code null} if none is known.
+     */
+    public RateLimitStatus getRateLimitStatus() {
+        return rateLimiter.status();
+    }
+
+    /**
+     * Record a rate limit window fetched from the API.
+     *
+     * @param resetIn Seconds until the window resets
+     * @param windowSeconds Window length in seconds, or {@code 0} if unknown
+     */
+    public void updateRateLimit(int limit, int remaining, int resetIn, int windowSeconds) {
+        rateLimiter.update(limit, remaining, resetIn, windowSeconds);
+    }
+
+    private Mono<Void> acquireRateLimit() {
+        if (rateLimitMode == RateLimitMode.OFF) {
+            return Mono.empty();
+        }
+        long maxWait = rateLimitMode == RateLimitMode.QUEUE ? rateLimitMaxWait.toNanos() : 0;
+        if (deadline != null) {
+            // Do not hold a token the deadline would throw away
+            maxWait = Math.min(maxWait, Duration.between(Instant.now(), deadline).toNanos());
+        }
+        long wait = rateLimiter.reserve(maxWait);
+        if (wait > maxWait) {
+            return Mono.error(new RateLimitExceededException(Duration.ofNanos(wait)));
+        }
+        return wait > 0 ? Mono.delay(Duration.ofNanos(wait)).then() : Mono.empty();
+    }
+
+    private <T> Mono<T> bounded(Mono<T> request) {
+        if (deadline == null) {
+            return request;
+        }
+        return Mono.defer(() -> {
+            Duration remaining = Duration.between(Instant.now(), deadline);
+            if (remaining.isNegative() || remaining.isZero()) {
+                return Mono.error(new TimeoutException("Handler deadline exceeded"));
+            }
+            return request.timeout(remaining);
+        });
     }
 
     private void addAuthHeaders(HttpHeaders headers) {
@@ -86,4 +439,7 @@ public class KiketClient {
             headers.set("X-Kiket-API-Key", extensionApiKey);
         }
     }
+
+    private record Identity(String workspaceToken, String eventVersion, String extensionApiKey) {
+    }
 }
@@ -0,0 +1,244 @@
+package dev.kiket.sdk.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.Closeable;
+import java.net.SocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates and caches {@link KiketClient} instances.
+ *
+ * <p>All clients share one {@link WebClient} backed by a single Reactor Netty
+ * {@link ConnectionProvider}, so connections (and their TLS sessions) are
+ * reused across deliveries and workspaces. Requests run on the global Reactor
+ * Netty event loops ({@code HttpResources}), which the reactive server uses
+ * too, so no threads are created per factory. Clients are
+ * cached per workspace token, event version and API key in a bounded LRU, which
+ * makes obtaining a client for a delivery a map lookup. Clients with the same
+ * workspace token and API key share one {@link RateLimiter}, because the server
+ * counts their requests against one quota. Limiters are kept in a second LRU of
+ * the same size, so a limiter outlives the eviction of one of its clients
+ * while neither map grows with the number of workspaces seen.
+ */
+public class KiketClientFactory implements Closeable {
+    public static final int DEFAULT_MAX_CLIENTS = 256;
+
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final ClientOptions options;
+    private final CircuitBreakers circuitBreakers;
+    private final ResponseCache responseCache;
+    private final Hedging hedging;
+    private final Map<ClientKey, KiketClient> clients;
+    private final Map<LimiterKey, RateLimiter> rateLimiters;
+    private final Map<SocketAddress, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+    public KiketClientFactory(String baseUrl) {
+        this(baseUrl, DEFAULT_MAX_CLIENTS);
+    }
+
+    /**
+     * @param baseUrl Kiket API base URL
+     * @param maxClients Maximum number of cached clients
+     */
+    public KiketClientFactory(String baseUrl, int maxClients) {
+        this(baseUrl, ClientOptions.defaults(), maxClients);
+    }
+
+    /**
+     * @param baseUrl Kiket API base URL
+     * @param options Connection pool, protocol, retry, rate limit, circuit breaker, caching and hedging settings
+     * @param maxClients Maximum number of cached clients
+     */
+    public KiketClientFactory(String baseUrl, ClientOptions options, int maxClients) {
+        this.connectionProvider = connectionProvider(options, pools);
+        HttpClient httpClient = httpClient(baseUrl, options, connectionProvider);
+        this.webClient = KiketClient.webClientBuilder(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+        this.options = options;
+        this.circuitBreakers = new CircuitBreakers(options.getCircuitBreaker() != null
+            ? options.getCircuitBreaker() : CircuitBreakerOptions.disabled());
+        this.responseCache = options.getResponseCache() != null && options.getResponseCache().isEnabled()
+            ? new ResponseCache(options.getResponseCache()) : null;
+        this.hedging = options.getHedging() != null && options.getHedging().isEnabled()
+            ? new Hedging(options.getHedging()) : null;
+        this.clients = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ClientKey, KiketClient> eldest) {
+                return size() > maxClients;
+            }
+        };
+        // Guarded by the clients lock
+        this.rateLimiters = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LimiterKey, RateLimiter> eldest) {
+                return size() > maxClients;
+            }
+        };
+    }
+
+    /**
+     * Client for a workspace token, event version and extension API key.
+     */
+    public KiketClient client(String workspaceToken, String eventVersion, String extensionApiKey) {
+        ClientKey key = new ClientKey(workspaceToken, eventVersion, extensionApiKey);
+        synchronized (clients) {
+            return clients.computeIfAbsent(key, k -> new KiketClient(webClient, workspaceToken, eventVersion,
+                extensionApiKey, options, rateLimiter(workspaceToken, extensionApiKey), circuitBreakers,
+                responseCache, hedging));
+        }
+    }
+
+    /**
+     * Number of rate limiters kept for workspace tokens and API keys.
+     */
+    int rateLimiterCount() {
+        synchronized (clients) {
+            return rateLimiters.size();
+        }
+    }
+
+    private RateLimiter rateLimiter(String workspaceToken, String extensionApiKey) {
+        return rateLimiters.computeIfAbsent(new LimiterKey(workspaceToken, extensionApiKey), k -> new RateLimiter());
+    }
+
+    /**
+     * Current state of the shared connection pool.
+     */
+    public PoolMetrics poolMetrics() {
+        int active = 0;
+        int idle = 0;
+        int pending = 0;
+        int allocated = 0;
+        int maxAllocated = 0;
+        for (ConnectionPoolMetrics pool : pools.values()) {
+            active += pool.acquiredSize();
+            idle += pool.idleSize();
+            pending += pool.pendingAcquireSize();
+            allocated += pool.allocatedSize();
+            maxAllocated += pool.maxAllocatedSize();
+        }
+        return PoolMetrics.builder()
+            .active(active)
+            .idle(idle)
+            .pending(pending)
+            .allocated(allocated)
+            .maxAllocated(maxAllocated)
+            .build();
+    }
+
+    /**
+     * State of the circuit breaker of every API route called so far, by
+     * route template.
+     */
+    public Map<String, CircuitBreakerMetrics> circuitBreakerMetrics() {
+        return circuitBreakers.metrics();
+    }
+
+    /**
+     * Register a listener notified whenever a route's circuit breaker
+     * changes state.
+     */
+    public void addCircuitBreakerListener(CircuitBreakerListener listener) {
+        circuitBreakers.addListener(listener);
+    }
+
+    /**
+     * Number of cached clients.
+     */
+    public int size() {
+        synchronized (clients) {
+            return clients.size();
+        }
+    }
+
+    /**
+     * Release pooled connections. The shared event loops are left running.
+     */
+    @Override
+    public void close() {
+        connectionProvider.disposeLater().block();
+    }
+
+    private static ConnectionProvider connectionProvider(
+        ClientOptions options,
+        Map<SocketAddress, ConnectionPoolMetrics> pools
+    ) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("kiket-client")
+            // Reactor Netty reports one pool per remote address; keep them for poolMetrics()
+            .metrics(true, () -> new ConnectionProvider.MeterRegistrar() {
+                @Override
+                public void registerMetrics(
+                    String poolName,
+                    String id,
+                    SocketAddress remoteAddress,
+                    ConnectionPoolMetrics metrics
+                ) {
+                    pools.put(remoteAddress, metrics);
+                }
+
+                @Override
+                public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+                    pools.remove(remoteAddress);
+                }
+            });
+        if (options.getMaxConnections() != null) {
+            builder.maxConnections(options.getMaxConnections());
+        }
+        if (options.getPendingAcquireMaxCount() != null) {
+            builder.pendingAcquireMaxCount(options.getPendingAcquireMaxCount());
+        }
+        if (options.getPendingAcquireTimeout() != null) {
+            builder.pendingAcquireTimeout(options.getPendingAcquireTimeout());
+        }
+        if (options.getMaxIdleTime() != null) {
+            builder.maxIdleTime(options.getMaxIdleTime());
+        }
+        if (options.getMaxLifeTime() != null) {
+            builder.maxLifeTime(options.getMaxLifeTime());
+        }
+        if (options.getEvictInBackground() != null) {
+            builder.evictInBackground(options.getEvictInBackground());
+        }
+        return builder.build();
+    }
+
+    private static HttpClient httpClient(
+        String baseUrl,
+        ClientOptions options,
+        ConnectionProvider connectionProvider
+    ) {
+        HttpClient client = HttpClient.create(connectionProvider)
+            .keepAlive(options.isKeepAlive());
+        if (options.getConnectTimeout() != null) {
+            client = client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) options.getConnectTimeout().toMillis());
+        }
+        if (options.getResponseTimeout() != null) {
+            client = client.responseTimeout(options.getResponseTimeout());
+        }
+        if (options.isHttp2()) {
+            // Over TLS h2 is negotiated through ALPN. In plain text, H2C together with HTTP11
+            // sends an HTTP/1.1 Upgrade to h2c and stays on HTTP/1.1 if the server declines;
+            // H2C alone would be prior knowledge, which fails against HTTP/1.1-only servers
+            boolean secure = baseUrl == null || baseUrl.startsWith("https:");
+            client = client.protocol(secure ? HttpProtocol.H2 : HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return client;
+    }
+
+    private record ClientKey(String workspaceToken, String eventVersion, String extensionApiKey) {
+    }
+
+    private record LimiterKey(String workspaceToken, String extensionApiKey) {
+    }
+}
@@ -0,0 +1,71 @@
+package dev.kiket.sdk.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogram of recent response times with exponentially sized buckets,
+ * from 100 microseconds up to about ten seconds in 20% steps. Counts are
+ * halved every {@link #DECAY_INTERVAL} samples, so percentiles follow the
+ * current latency of a route rather than its whole history.
+ */
+class LatencyHistogram {
+    static final int DECAY_INTERVAL = 1000;
+
+    private static final int BUCKETS = 64;
+    private static final long[] UPPER_BOUNDS = new long[BUCKETS];
+
+    static {
+        double bound = TimeUnit.MICROSECONDS.toNanos(100);
+        for (int i = 0; i < BUCKETS; i++) {
+            UPPER_BOUNDS[i] = (long) bound;
+            bound *= 1.2;
+        }
+    }
+
+    private final long[] counts = new long[BUCKETS + 1];
+    private long total;
+    private int sinceDecay;
+
+    synchronized void record(long nanos) {
+        counts[bucket(nanos)]++;
+        total++;
+        if (++sinceDecay >= DECAY_INTERVAL) {
+            sinceDecay = 0;
+            total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] >>= 1;
+                total += counts[i];
+            }
+        }
+    }
+
+    synchronized long count() {
+        return total;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile, in nanoseconds.
+     *
+     * @param percentile Between 0 and 1
+     */
+    synchronized long percentile(double percentile) {
+        long target = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return UPPER_BOUNDS[i];
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static int bucket(long nanos) {
+        for (int i = 0; i < BUCKETS; i++) {
+            if (nanos <= UPPER_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BUCKETS;
+    }
+}
@@ -0,0 +1,36 @@
+package dev.kiket.sdk.client;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Snapshot of the shared connection pool, summed over all remote hosts.
+ */
+@Data
+@Builder
+public class PoolMetrics {
+    /**
+     * Connections currently serving a request.
+     */
+    private final int active;
+
+    /**
+     * Open connections available for reuse.
+     */
+    private final int idle;
+
+    /**
+     * Requests waiting for a connection.
+     */
+    private final int pending;
+
+    /**
+     * Open connections, active or idle.
+     */
+    private final int allocated;
+
+    /**
+     * Maximum connections the pool may open.
+     */
+    private final int maxAllocated;
+}
@@ -0,0 +1,23 @@
+package dev.kiket.sdk.client;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of sending a request that would exceed the extension rate
+ * limit, see {@link RateLimitMode}.
+ */
+public class RateLimitExceededException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(Duration retryAfter) {
+        super("Rate limit exhausted");
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Time until a request can be sent again.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,24 @@
+package dev.kiket.sdk.client;
+
+/**
+ * What a {@link KiketClient} does with a request once the known rate limit
+ * is exhausted.
+ */
+public enum RateLimitMode {
+    /**
+     * Delay the request until a token is available, failing with
+     * {@link RateLimitExceededException} if that takes longer than the
+     * configured maximum wait.
+     */
+    QUEUE,
+
+    /**
+     * Fail immediately with {@link RateLimitExceededException}.
+     */
+    FAIL_FAST,
+
+    /**
+     * Send every request and let the server answer with {@code 429}.
+     */
+    OFF
+}
@@ -0,0 +1,29 @@
+package dev.kiket.sdk.client;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Client-side estimate of the extension rate limit window, kept up to date
+ * from response headers without extra requests.
+ */
+@Data
+@Builder
+public class RateLimitStatus {
+    private final int limit;
+
+    /**
+     * Requests the client may still send in the current window.
+     */
+    private final int remaining;
+
+    /**
+     * Length of the window in seconds, or {@code 0} if unknown.
+     */
+    private final int windowSeconds;
+
+    /**
+     * Seconds until the server resets the window.
+     */
+    private final int resetIn;
+}
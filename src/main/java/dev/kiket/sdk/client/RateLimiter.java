@@ -0,0 +1,136 @@
+package dev.kiket.sdk.client;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket pacing a client's requests to the extension rate limit.
+ *
+ * <p>The bucket holds up to {@code limit} tokens and refills at
+ * {@code limit / window}. Every response carrying rate limit headers resets
+ * the balance to what the server reports; once the server reports the window
+ * exhausted, refilling is suspended until it resets. Until the first report
+ * the bucket does not limit anything.
+ */
+class RateLimiter {
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private static final int DEFAULT_WINDOW_SECONDS = 60;
+
+    private final LongSupplier clock;
+    private boolean known;
+    private int limit;
+    private int windowSeconds;
+    private double tokens;
+    private double tokensPerNano;
+    private long refilledAt;
+    private long resetAt;
+
+    RateLimiter() {
+        this(System::nanoTime);
+    }
+
+    RateLimiter(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Update from the rate limit headers of a response, if present.
+     */
+    void observe(HttpHeaders headers) {
+        Integer limit = header(headers, LIMIT_HEADER);
+        Integer remaining = header(headers, REMAINING_HEADER);
+        if (limit == null || remaining == null) {
+            return;
+        }
+        Integer resetIn = header(headers, RESET_HEADER);
+        update(limit, remaining, resetIn != null ? resetIn : -1, 0);
+    }
+
+    /**
+     * @param resetIn Seconds until the window resets, or negative if unknown
+     * @param windowSeconds Window length, or {@code 0} if unknown
+     */
+    synchronized void update(int limit, int remaining, int resetIn, int windowSeconds) {
+        if (limit <= 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (windowSeconds > 0) {
+            this.windowSeconds = windowSeconds;
+        }
+        int window = this.windowSeconds > 0 ? this.windowSeconds : DEFAULT_WINDOW_SECONDS;
+        long resetNanos = TimeUnit.SECONDS.toNanos(resetIn >= 0 ? resetIn : window);
+
+        this.known = true;
+        this.limit = limit;
+        this.tokensPerNano = (double) limit / TimeUnit.SECONDS.toNanos(window);
+        this.tokens = Math.max(0, Math.min(limit, remaining));
+        this.resetAt = now + resetNanos;
+        this.refilledAt = remaining > 0 ? now : resetAt;
+    }
+
+    /**
+     * Reserve a token if one becomes available within {@code maxWaitNanos}.
+     *
+     * @return nanoseconds until the reserved token is available, or the time a
+     *         token would take if that exceeds {@code maxWaitNanos}, in which
+     *         case nothing is reserved
+     */
+    synchronized long reserve(long maxWaitNanos) {
+        if (!known) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        refill(now);
+        long wait = 0;
+        if (tokens < 1) {
+            wait = Math.max(0, refilledAt - now) + (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+        if (wait <= maxWaitNanos) {
+            tokens -= 1;
+        }
+        return wait;
+    }
+
+    /**
+     * Current estimate, or {@code null} if nothing has been reported yet or
+     * the reported window has since reset.
+     */
+    synchronized RateLimitStatus status() {
+        long now = clock.getAsLong();
+        if (!known || now >= resetAt) {
+            return null;
+        }
+        refill(now);
+        return RateLimitStatus.builder()
+            .limit(limit)
+            .remaining((int) Math.max(0, Math.floor(tokens)))
+            .windowSeconds(windowSeconds)
+            .resetIn((int) TimeUnit.NANOSECONDS.toSeconds(resetAt - now + TimeUnit.SECONDS.toNanos(1) - 1))
+            .build();
+    }
+
+    private void refill(long now) {
+        if (now > refilledAt) {
+            tokens = Math.min(limit, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+
+    private static Integer header(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package dev.kiket.sdk.client;
+
+/**
+ * Token bucket limiting extra requests, such as retries or hedges, to a
+ * fraction of the requests sent.
+ */
+class RequestBudget {
+    private final double ratio;
+    private final double capacity;
+    private double balance;
+
+    RequestBudget(double ratio, int capacity) {
+        this.ratio = ratio;
+        this.capacity = capacity;
+        this.balance = capacity;
+    }
+
+    synchronized void onRequest() {
+        balance = Math.min(capacity, balance + ratio);
+    }
+
+    /**
+     * @return whether an extra request may be sent
+     */
+    synchronized boolean tryAcquire() {
+        if (balance < 1) {
+            return false;
+        }
+        balance -= 1;
+        return true;
+    }
+
+    synchronized double balance() {
+        return balance;
+    }
+}
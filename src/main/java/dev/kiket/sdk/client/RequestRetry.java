@@ -0,0 +1,137 @@
+package dev.kiket.sdk.client;
+
+import org.reactivestreams.Publisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries one request according to a {@link RetryPolicy}. Failures that are
+ * not retried, or the last failure once retries run out, are propagated as is.
+ */
+class RequestRetry extends Retry {
+    /**
+     * Methods that are safe to repeat once the server may have processed them.
+     * POST qualifies because the client always sends an idempotency key.
+     */
+    private static final Set<HttpMethod> IDEMPOTENT = Set.of(
+        HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS,
+        HttpMethod.PUT, HttpMethod.DELETE, HttpMethod.POST
+    );
+
+    private final HttpMethod method;
+    private final RetryPolicy policy;
+    private final RequestBudget budget;
+
+    RequestRetry(HttpMethod method, RetryPolicy policy, RequestBudget budget) {
+        this.method = method;
+        this.policy = policy;
+        this.budget = budget;
+    }
+
+    @Override
+    public Publisher<?> generateCompanion(Flux<RetrySignal> signals) {
+        long base = policy.getBaseDelay().toMillis();
+        long[] previous = {base};
+        return signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            if (signal.totalRetries() >= policy.getMaxRetries() || !isRetryable(method, failure)) {
+                return Mono.error(failure);
+            }
+            Duration retryAfter = retryAfter(failure);
+            if (retryAfter != null && retryAfter.compareTo(policy.getMaxRetryAfter()) > 0) {
+                return Mono.error(failure);
+            }
+            if (!budget.tryAcquire()) {
+                return Mono.error(failure);
+            }
+            long delay = nextDelay(base, previous[0], policy.getMaxDelay().toMillis());
+            previous[0] = delay;
+            if (retryAfter != null) {
+                delay = Math.max(delay, retryAfter.toMillis());
+            }
+            return Mono.delay(Duration.ofMillis(delay));
+        });
+    }
+
+    /**
+     * Decorrelated jitter: a random delay between the base and three times the
+     * previous delay, capped.
+     */
+    static long nextDelay(long base, long previous, long cap) {
+        long upper = Math.max(base, previous * 3);
+        long delay = upper > base ? ThreadLocalRandom.current().nextLong(base, upper + 1) : base;
+        return Math.min(cap, delay);
+    }
+
+    static boolean isRetryable(HttpMethod method, Throwable failure) {
+        if (failure instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            if (status == 429) {
+                // Rejected before processing, whatever the method
+                return true;
+            }
+            if (status == 408) {
+                // The server gave up waiting for the request; only repeat reads
+                return method == HttpMethod.GET || method == HttpMethod.HEAD;
+            }
+            return IDEMPOTENT.contains(method) && (status == 502 || status == 503 || status == 504);
+        }
+        if (failure instanceof WebClientRequestException) {
+            if (causedBy(failure, ConnectException.class)) {
+                // The request never reached the server
+                return true;
+            }
+            return IDEMPOTENT.contains(method) && causedBy(failure, IOException.class);
+        }
+        return false;
+    }
+
+    /**
+     * Delay requested by a {@code Retry-After} header, in delta-seconds or
+     * HTTP-date form.
+     */
+    static Duration retryAfter(Throwable failure) {
+        if (!(failure instanceof WebClientResponseException response)) {
+            return null;
+        }
+        String value = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            // Fall through to HTTP-date
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(date.getZone()), date);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static boolean causedBy(Throwable failure, Class<? extends Throwable> type) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
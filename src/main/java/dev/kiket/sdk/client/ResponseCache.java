@@ -0,0 +1,242 @@
+package dev.kiket.sdk.client;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded cache of GET response bodies, see {@link ResponseCacheOptions}.
+ *
+ * <p>Entries are kept in LRU order. Once the cache is full, a new entry is
+ * only admitted if it has been requested more often than every entry it would
+ * evict, according to a {@link FrequencySketch} (TinyLFU admission), so a burst
+ * of one-off requests cannot flush frequently used resources.
+ */
+class ResponseCache {
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final long maxBytes;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<Key>> byResource = new HashMap<>();
+    private long bytes;
+
+    ResponseCache(ResponseCacheOptions options) {
+        this(options, System::nanoTime);
+    }
+
+    ResponseCache(ResponseCacheOptions options, LongSupplier clock) {
+        this.maxBytes = options.getMaxBytes();
+        this.maxEntries = options.getMaxEntries();
+        this.clock = clock;
+        this.sketch = new FrequencySketch(options.getMaxEntries());
+    }
+
+    /**
+     * Look up a response and count the request towards the key's frequency.
+     */
+    synchronized Entry get(Key key) {
+        sketch.increment(key);
+        return entries.get(key);
+    }
+
+    boolean isFresh(Entry entry) {
+        return clock.getAsLong() < entry.expiresAt;
+    }
+
+    /**
+     * Store a {@code 200} response if its headers allow it.
+     */
+    void store(Key key, HttpHeaders headers, byte[] body) {
+        Entry entry = entry(headers, body != null ? body : new byte[0]);
+        synchronized (this) {
+            if (entry == null) {
+                remove(key);
+                return;
+            }
+            put(key, entry);
+        }
+    }
+
+    /**
+     * Refresh a stale entry after the server answered {@code 304 Not Modified}.
+     */
+    void revalidated(Key key, Entry stale, HttpHeaders headers) {
+        HttpHeaders merged = new HttpHeaders();
+        if (stale.etag != null) {
+            merged.set(HttpHeaders.ETAG, stale.etag);
+        }
+        if (stale.lastModified != null) {
+            merged.set(HttpHeaders.LAST_MODIFIED, stale.lastModified);
+        }
+        // The 304 carries the current freshness and may update the validators
+        headers.forEach(merged::put);
+        store(key, merged, stale.body);
+    }
+
+    /**
+     * Evict every cached representation of {@code path} and of its parent
+     * collection, for all clients.
+     */
+    synchronized void invalidate(String path) {
+        String resource = resource(path);
+        invalidateResource(resource);
+        int slash = resource.lastIndexOf('/');
+        if (slash > 0) {
+            invalidateResource(resource.substring(0, slash));
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    private void invalidateResource(String resource) {
+        Set<Key> keys = byResource.remove(resource);
+        if (keys != null) {
+            for (Key key : keys) {
+                Entry removed = entries.remove(key);
+                if (removed != null) {
+                    bytes -= removed.weight();
+                }
+            }
+        }
+    }
+
+    private void put(Key key, Entry entry) {
+        if (entry.weight() > maxBytes) {
+            remove(key);
+            return;
+        }
+        boolean resident = remove(key);
+        // Pick every victim and check admission against each before evicting any,
+        // so a rejected entry leaves the cache as it was
+        List<Key> victims = new ArrayList<>();
+        long freed = 0;
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while ((bytes - freed + entry.weight() > maxBytes || entries.size() - victims.size() >= maxEntries)
+            && eldest.hasNext()) {
+            Map.Entry<Key, Entry> victim = eldest.next();
+            if (!resident && sketch.frequency(key) <= sketch.frequency(victim.getKey())) {
+                return;
+            }
+            victims.add(victim.getKey());
+            freed += victim.getValue().weight();
+        }
+        for (Key victim : victims) {
+            remove(victim);
+        }
+        entries.put(key, entry);
+        byResource.computeIfAbsent(resource(key.path()), r -> new HashSet<>()).add(key);
+        bytes += entry.weight();
+    }
+
+    private boolean remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        unindex(key);
+        bytes -= removed.weight();
+        return true;
+    }
+
+    private void unindex(Key key) {
+        String resource = resource(key.path());
+        Set<Key> keys = byResource.get(resource);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            byResource.remove(resource);
+        }
+    }
+
+    private Entry entry(HttpHeaders headers, byte[] body) {
+        long maxAge = 0;
+        for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            for (String directive : value.split(",")) {
+                String name = directive.trim().toLowerCase(Locale.ROOT);
+                if (name.equals("no-store")) {
+                    return null;
+                }
+                if (name.equals("no-cache")) {
+                    maxAge = -1;
+                } else if (name.startsWith("max-age=") && maxAge >= 0) {
+                    try {
+                        maxAge = Long.parseLong(name.substring("max-age=".length()).replace("\"", ""));
+                    } catch (NumberFormatException e) {
+                        maxAge = 0;
+                    }
+                }
+            }
+        }
+        String etag = headers.getFirst(HttpHeaders.ETAG);
+        String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (maxAge <= 0 && etag == null && lastModified == null) {
+            return null;
+        }
+        long expiresAt = clock.getAsLong() + TimeUnit.SECONDS.toNanos(Math.max(0, maxAge));
+        return new Entry(body, etag, lastModified, expiresAt);
+    }
+
+    private static String resource(String path) {
+        int query = path.indexOf('?');
+        String resource = query >= 0 ? path.substring(0, query) : path;
+        return resource.length() > 1 && resource.endsWith("/")
+            ? resource.substring(0, resource.length() - 1) : resource;
+    }
+
+    /**
+     * @param scope Auth identity of the client the response was fetched with
+     */
+    record Key(Object scope, String path) {
+    }
+
+    static final class Entry {
+        private final byte[] body;
+        private final String etag;
+        private final String lastModified;
+        private final long expiresAt;
+
+        private Entry(byte[] body, String etag, String lastModified, long expiresAt) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.expiresAt = expiresAt;
+        }
+
+        byte[] body() {
+            return body;
+        }
+
+        /**
+         * Add validators of this entry to a revalidation request.
+         */
+        void addConditions(HttpHeaders headers) {
+            if (etag != null) {
+                headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+            }
+            if (lastModified != null) {
+                headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+        }
+
+        private long weight() {
+            return body.length + ENTRY_OVERHEAD;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package dev.kiket.sdk.client;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Settings of the optional cache of GET responses shared by all clients.
+ *
+ * <p>Responses are stored as their raw body bytes for as long as their
+ * {@code Cache-Control: max-age} allows, and revalidated with
+ * {@code If-None-Match}/{@code If-Modified-Since} once stale or when marked
+ * {@code no-cache}. Responses without freshness or validators, and those
+ * marked {@code no-store}, are not cached. Writes to a resource evict its
+ * cached representations and those of its parent collections.
+ */
+@Data
+@Builder
+public class ResponseCacheOptions {
+    @Builder.Default
+    private boolean enabled = false;
+
+    /**
+     * Upper bound of the total size of cached bodies.
+     */
+    @Builder.Default
+    private long maxBytes = 16L * 1024 * 1024;
+
+    @Builder.Default
+    private int maxEntries = 4096;
+
+    public static ResponseCacheOptions disabled() {
+        return ResponseCacheOptions.builder().build();
+    }
+
+    public static ResponseCacheOptions enabled() {
+        return ResponseCacheOptions.builder().enabled(true).build();
+    }
+}
@@ -0,0 +1,73 @@
+package dev.kiket.sdk.client;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Retry settings for {@link KiketClient} requests.
+ *
+ * <p>Transient failures (connection errors, 429, 502, 503 and 504) are retried
+ * with decorrelated-jitter backoff, waiting at least as long as the server's
+ * {@code Retry-After}. GET, PUT and DELETE are retried freely; POST is retried
+ * because every POST carries an {@code Idempotency-Key}; PATCH is only retried
+ * when the server cannot have applied it (429 or a failed connect). A 408 is
+ * retried for GET and HEAD only; other statuses, including 500, are not retried.
+ *
+ * <p>Each client holds a retry budget: every request deposits
+ * {@link #budgetRatio} tokens and every retry spends one, so during an outage
+ * retries add at most that fraction of extra load.
+ */
+@Data
+@Builder
+public class RetryPolicy {
+    /**
+     * Maximum retries of a single request.
+     */
+    @Builder.Default
+    private int maxRetries = 3;
+
+    /**
+     * Lower bound of the backoff between attempts.
+     */
+    @Builder.Default
+    private Duration baseDelay = Duration.ofMillis(100);
+
+    /**
+     * Upper bound of the backoff between attempts.
+     */
+    @Builder.Default
+    private Duration maxDelay = Duration.ofSeconds(5);
+
+    /**
+     * Longest {@code Retry-After} the client is willing to wait; longer
+     * waits fail the request instead.
+     */
+    @Builder.Default
+    private Duration maxRetryAfter = Duration.ofSeconds(30);
+
+    /**
+     * Retry tokens earned per request.
+     */
+    @Builder.Default
+    private double budgetRatio = 0.1;
+
+    /**
+     * Maximum retry tokens a client holds, and its initial balance, so quiet
+     * clients can still retry.
+     */
+    @Builder.Default
+    private int budgetCapacity = 10;
+
+    public static RetryPolicy defaults() {
+        return RetryPolicy.builder().build();
+    }
+
+    /**
+     * Policy that never retries.
+     */
+    public static RetryPolicy disabled() {
+        return RetryPolicy.builder().maxRetries(0).build();
+    }
+}
@@ -0,0 +1,75 @@
+package dev.kiket.sdk.client;
+
+import java.util.List;
+
+/**
+ * Maps request paths to the route templates circuit breakers are keyed by,
+ * so that for example every custom data table shares one breaker per module
+ * and table rather than one per record.
+ */
+final class RouteTemplates {
+    private static final List<String[]> TEMPLATES = List.of(
+        split("/ext/custom_data/{module}/{table}"),
+        split("/ext/custom_data/{module}/{table}/{id}"),
+        split("/ext/sla/events"),
+        split("/api/v1/ext/rate_limit"),
+        split("/extensions/{extension}"),
+        split("/extensions/{extension}/events"),
+        split("/extensions/{extension}/secrets"),
+        split("/extensions/{extension}/secrets/{key}")
+    );
+
+    private RouteTemplates() {
+    }
+
+    /**
+     * Route template of {@code path}. Paths outside the known API keep their
+     * literal segments, with numeric and UUID segments replaced by {@code {id}}.
+     */
+    static String template(String path) {
+        int query = path.indexOf('?');
+        String[] segments = split(query >= 0 ? path.substring(0, query) : path);
+        for (String[] template : TEMPLATES) {
+            if (matches(template, segments)) {
+                return "/" + String.join("/", template);
+            }
+        }
+        StringBuilder route = new StringBuilder();
+        for (String segment : segments) {
+            route.append('/').append(isIdentifier(segment) ? "{id}" : segment);
+        }
+        return route.length() == 0 ? "/" : route.toString();
+    }
+
+    private static boolean matches(String[] template, String[] segments) {
+        if (template.length != segments.length) {
+            return false;
+        }
+        for (int i = 0; i < template.length; i++) {
+            if (!template[i].startsWith("{") && !template[i].equals(segments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIdentifier(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        boolean digits = true;
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (!Character.isDigit(c)) {
+                digits = false;
+                break;
+            }
+        }
+        return digits || (segment.length() == 36 && segment.charAt(8) == '-' && segment.charAt(13) == '-');
+    }
+
+    private static String[] split(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+}
@@ -13,6 +13,7 @@ public class ExtensionManifest {
     private String id;
     private String version;
     private String deliverySecret;
+    private List<String> deliverySecrets;
     private List<Setting> settings;
 
     public static ExtensionManifest fromMap(Map<String, Object> data) {
@@ -21,6 +22,12 @@ public class ExtensionManifest {
         manifest.setVersion((String) data.get("version"));
         manifest.setDeliverySecret((String) data.get("delivery_secret"));
 
+        if (data.get("delivery_secrets") instanceof List) {
+            manifest.setDeliverySecrets(((List<?>) data.get("delivery_secrets")).stream()
+                .map(String::valueOf)
+                .collect(Collectors.toList()));
+        }
+
         if (data.get("settings") instanceof List) {
             List<Map<String, Object>> settingsList = (List<Map<String, Object>>) data.get("settings");
             manifest.setSettings(settingsList.stream()
@@ -4,6 +4,7 @@ import dev.kiket.sdk.telemetry.TelemetryReporter;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -13,6 +14,7 @@ import java.util.Map;
 @Builder
 public class SDKConfig {
     private String webhookSecret;
+    private List<String> webhookSecrets;
     private String workspaceToken;
     private String extensionApiKey;
     private String baseUrl;
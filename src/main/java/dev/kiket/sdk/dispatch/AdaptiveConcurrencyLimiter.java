@@ -0,0 +1,171 @@
+package dev.kiket.sdk.dispatch;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-handler concurrency limits that follow observed handler latency.
+ *
+ * <p>Each {@code event:version} key keeps its own limit using a gradient
+ * algorithm: a slowly moving average of handler duration serves as the
+ * baseline, and every completed delivery scales the limit by
+ * {@code baseline / sample} (clamped to {@code [0.5, 1]}) plus a small
+ * headroom of {@code sqrt(limit)}. While latency stays at the baseline the
+ * limit grows; once handlers slow down, typically because a downstream API is
+ * saturated, it shrinks until latency recovers. A delivery that times out or
+ * is rejected downstream as overloaded is a drop, which cuts the limit by
+ * {@code 10%} at once, so a hung dependency lowers concurrency even though it
+ * never produces a latency sample. Deliveries above the limit
+ * wait in a per-key queue and are shed with {@link OverloadedException} once
+ * that queue is full.
+ */
+public class AdaptiveConcurrencyLimiter {
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MAX_LIMIT = 1000;
+
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_SMOOTHING = 0.002;
+    private static final double DROP_RATIO = 0.9;
+
+    private final int initialLimit;
+    private final int maxLimit;
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimiter() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MAX_LIMIT);
+    }
+
+    /**
+     * @param initialLimit Concurrency allowed per key before any latency is observed
+     * @param maxLimit Upper bound for each key's limit; also bounds its wait queue
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int maxLimit) {
+        if (initialLimit <= 0 || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("initialLimit must be positive and not above maxLimit");
+        }
+        this.initialLimit = initialLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Limit state for a handler key, created on first use.
+     */
+    public Limit forKey(String key) {
+        return limits.computeIfAbsent(key, k -> new Limit());
+    }
+
+    /**
+     * Current limit of every key seen so far.
+     */
+    public Map<String, Integer> getLimits() {
+        Map<String, Integer> snapshot = new TreeMap<>();
+        limits.forEach((key, limit) -> snapshot.put(key, limit.getLimit()));
+        return snapshot;
+    }
+
+    /**
+     * Adaptive limit for one handler key.
+     */
+    public class Limit {
+        private final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+        private double limit = initialLimit;
+        private double baselineMs = -1;
+        private int inFlight;
+
+        /**
+         * Request permission to run a delivery.
+         *
+         * @return Future completed once the delivery may run, or failed with
+         *         {@link OverloadedException} if the wait queue is full
+         */
+        public CompletableFuture<Void> acquire() {
+            synchronized (this) {
+                if (inFlight < (int) limit && waiting.isEmpty()) {
+                    inFlight++;
+                    return CompletableFuture.completedFuture(null);
+                }
+                if (waiting.size() < maxLimit) {
+                    CompletableFuture<Void> slot = new CompletableFuture<>();
+                    waiting.addLast(slot);
+                    return slot;
+                }
+                return CompletableFuture.failedFuture(new OverloadedException(retryAfterLocked()));
+            }
+        }
+
+        /**
+         * Release a permit taken by {@link #acquire}.
+         *
+         * @param elapsedNanos Handler duration
+         * @param sample Whether the duration reflects normal handling and should adjust the limit
+         */
+        public void release(long elapsedNanos, boolean sample) {
+            release(sample ? elapsedNanos / 1_000_000.0 : -1);
+        }
+
+        /**
+         * Release a permit taken by {@link #acquire} for a delivery that timed
+         * out or was rejected as overloaded, reducing the limit.
+         */
+        public void drop() {
+            release(Double.NaN);
+        }
+
+        private void release(double sampleMs) {
+            ArrayDeque<CompletableFuture<Void>> ready = null;
+            synchronized (this) {
+                if (Double.isNaN(sampleMs)) {
+                    limit = Math.max(1, limit * DROP_RATIO);
+                } else if (sampleMs >= 0) {
+                    adjust(sampleMs);
+                }
+                inFlight--;
+                while (inFlight < (int) limit && !waiting.isEmpty()) {
+                    if (ready == null) {
+                        ready = new ArrayDeque<>();
+                    }
+                    ready.add(waiting.pollFirst());
+                    inFlight++;
+                }
+            }
+            if (ready != null) {
+                ready.forEach(slot -> slot.complete(null));
+            }
+        }
+
+        public synchronized int getLimit() {
+            return (int) limit;
+        }
+
+        public synchronized int getInFlight() {
+            return inFlight;
+        }
+
+        private void adjust(double sampleMs) {
+            if (baselineMs < 0) {
+                baselineMs = sampleMs;
+                return;
+            }
+            baselineMs += BASELINE_SMOOTHING * (sampleMs - baselineMs);
+            if (sampleMs <= 0) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, baselineMs / sampleMs));
+            double target = limit * gradient + Math.sqrt(limit);
+            // Only grow when the current limit is actually being used
+            if (target > limit && inFlight < limit / 2) {
+                return;
+            }
+            limit = Math.max(1, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+        }
+
+        private Duration retryAfterLocked() {
+            double drainMs = (waiting.size() + 1) * Math.max(baselineMs, 1) / Math.max(1, (int) limit);
+            return Duration.ofSeconds(Math.max(1, Math.min(60, (long) Math.ceil(drainMs / 1000))));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package dev.kiket.sdk.dispatch;
+
+import dev.kiket.sdk.handler.HandlerPriority;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded admission in front of handler dispatch.
+ *
+ * <p>At most {@code maxInFlight} deliveries run at once and at most
+ * {@code maxQueued} wait for a slot. When the queue is full a delivery is
+ * rejected immediately with {@link OverloadedException} rather than adding
+ * latency for everything already admitted. Each priority may only fill part of
+ * the queue ({@link HandlerPriority#LOW} half, {@link HandlerPriority#NORMAL}
+ * three quarters, higher priorities all of it), and a {@link HandlerPriority#CRITICAL}
+ * delivery arriving at a full queue displaces the newest waiting delivery of
+ * a lower priority. Freed slots go to the highest waiting priority first.
+ * The dispatcher admits ordered deliveries only from the head of their
+ * ordering lane, so priority never reorders deliveries that share a key.
+ *
+ * <p>The suggested retry delay is the time the current backlog needs to drain
+ * at the observed average handler duration.
+ */
+public class AdmissionController {
+    private static final HandlerPriority[] PRIORITIES = HandlerPriority.values();
+    private static final long MAX_RETRY_AFTER_SECONDS = 60;
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final ArrayDeque<CompletableFuture<Void>>[] waiting;
+    private final LongAdder rejected = new LongAdder();
+    private int inFlight;
+    private int queued;
+    private double averageMs = 100;
+
+    @SuppressWarnings("unchecked")
+    public AdmissionController(int maxInFlight, int maxQueued) {
+        if (maxInFlight <= 0 || maxQueued < 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive and maxQueued non-negative");
+        }
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+        this.waiting = new ArrayDeque[PRIORITIES.length];
+        for (int i = 0; i < waiting.length; i++) {
+            waiting[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Request a slot for a delivery.
+     *
+     * @return Future completed once the delivery may run, or failed with
+     *         {@link OverloadedException} if it is shed
+     */
+    public CompletableFuture<Void> acquire(HandlerPriority priority) {
+        CompletableFuture<Void> displaced = null;
+        CompletableFuture<Void> slot;
+        synchronized (this) {
+            if (inFlight < maxInFlight && queued == 0) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (queued >= queueLimit(priority)) {
+                displaced = priority == HandlerPriority.CRITICAL ? removeNewestBelow(priority) : null;
+                if (displaced == null) {
+                    rejected.increment();
+                    return CompletableFuture.failedFuture(new OverloadedException(retryAfterLocked()));
+                }
+            }
+            slot = new CompletableFuture<>();
+            waiting[priority.ordinal()].addLast(slot);
+            queued++;
+        }
+        if (displaced != null) {
+            rejected.increment();
+            displaced.completeExceptionally(new OverloadedException(retryAfter()));
+        }
+        return slot;
+    }
+
+    /**
+     * Return a slot taken by {@link #acquire} and hand it to the next waiting delivery.
+     *
+     * @param elapsedNanos How long the delivery ran, used to estimate {@code Retry-After}
+     */
+    public void release(long elapsedNanos) {
+        CompletableFuture<Void> next;
+        synchronized (this) {
+            averageMs += LATENCY_SMOOTHING * (elapsedNanos / 1_000_000.0 - averageMs);
+            next = pollHighest();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            queued--;
+        }
+        // The slot passes directly to the waiter; inFlight is unchanged
+        next.complete(null);
+    }
+
+    /**
+     * Suggested delay before a shed delivery is retried.
+     */
+    public synchronized Duration retryAfter() {
+        return retryAfterLocked();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queued;
+    }
+
+    /**
+     * Number of deliveries shed since startup.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private int queueLimit(HandlerPriority priority) {
+        switch (priority) {
+            case LOW:
+                return maxQueued / 2;
+            case NORMAL:
+                return maxQueued * 3 / 4;
+            default:
+                return maxQueued;
+        }
+    }
+
+    private CompletableFuture<Void> removeNewestBelow(HandlerPriority priority) {
+        for (int i = PRIORITIES.length - 1; i > priority.ordinal(); i--) {
+            CompletableFuture<Void> victim = waiting[i].pollLast();
+            if (victim != null) {
+                queued--;
+                return victim;
+            }
+        }
+        return null;
+    }
+
+    private CompletableFuture<Void> pollHighest() {
+        for (ArrayDeque<CompletableFuture<Void>> queue : waiting) {
+            CompletableFuture<Void> next = queue.pollFirst();
+            if (next != null) {
+                return next;
+            }
+        }
+        return null;
+    }
+
+    private Duration retryAfterLocked() {
+        double drainMs = (queued + 1) * averageMs / maxInFlight;
+        long seconds = (long) Math.ceil(drainMs / 1000);
+        return Duration.ofSeconds(Math.max(1, Math.min(MAX_RETRY_AFTER_SECONDS, seconds)));
+    }
+}
@@ -0,0 +1,66 @@
+package dev.kiket.sdk.dispatch;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Concurrency cap with a bounded wait queue for a single handler, so that a
+ * slow handler only ties up its own share of capacity.
+ */
+public class Bulkhead {
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private int running;
+
+    public Bulkhead(int maxConcurrent, int maxQueued) {
+        if (maxConcurrent <= 0 || maxQueued < 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive and maxQueued non-negative");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Request a slot.
+     *
+     * @return Future completed once the invocation may run, or failed with
+     *         {@link OverloadedException} if the queue is full
+     */
+    public synchronized CompletableFuture<Void> acquire() {
+        if (running < maxConcurrent) {
+            running++;
+            return CompletableFuture.completedFuture(null);
+        }
+        if (waiting.size() >= maxQueued) {
+            return CompletableFuture.failedFuture(new OverloadedException(Duration.ofSeconds(1)));
+        }
+        CompletableFuture<Void> slot = new CompletableFuture<>();
+        waiting.addLast(slot);
+        return slot;
+    }
+
+    /**
+     * Return a slot taken by {@link #acquire} and pass it to the next waiter.
+     */
+    public void release() {
+        CompletableFuture<Void> next;
+        synchronized (this) {
+            next = waiting.pollFirst();
+            if (next == null) {
+                running--;
+                return;
+            }
+        }
+        next.complete(null);
+    }
+
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    public synchronized int getQueued() {
+        return waiting.size();
+    }
+}
@@ -0,0 +1,61 @@
+package dev.kiket.sdk.dispatch;
+
+import dev.kiket.sdk.client.KiketClientFactory;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Optional dispatch features. Every feature is disabled when its component is {@code null}.
+ */
+@Data
+@Builder
+public class DispatchOptions {
+    /**
+     * Source of the {@code KiketClient} in each handler context. A factory for
+     * the configured base URL is created when {@code null}.
+     */
+    private KiketClientFactory clientFactory;
+
+    /**
+     * Deduplicates retried deliveries.
+     */
+    private IdempotencyCache idempotencyCache;
+
+    /**
+     * Bounds in-flight and queued deliveries, shedding the excess.
+     */
+    private AdmissionController admissionController;
+
+    /**
+     * Shares handler capacity between tenants by weight. Applied before
+     * {@link #admissionController}, which then only sees deliveries the
+     * scheduler has released.
+     */
+    private FairScheduler fairScheduler;
+
+    /**
+     * Header naming the tenant of a delivery for {@link #fairScheduler}.
+     */
+    @Builder.Default
+    private String tenantHeader = FairScheduler.DEFAULT_TENANT_HEADER;
+
+    /**
+     * Dotted payload path naming the tenant when the header is absent.
+     */
+    private String tenantKey;
+
+    /**
+     * Caps each handler's concurrency at a latency-driven limit.
+     */
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    /**
+     * Serial lanes for handlers registered with an ordering key. A default
+     * set of {@value OrderedLanes#DEFAULT_LANES} lanes is used when {@code null}.
+     */
+    private OrderedLanes orderedLanes;
+
+    public static DispatchOptions defaults() {
+        return DispatchOptions.builder().build();
+    }
+}
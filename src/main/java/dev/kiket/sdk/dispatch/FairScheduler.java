@@ -0,0 +1,134 @@
+package dev.kiket.sdk.dispatch;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Weighted fair scheduling of deliveries across tenants.
+ *
+ * <p>Up to {@code maxConcurrent} deliveries run at once. Beyond that, each
+ * tenant (typically a workspace) gets its own bounded queue, and freed slots
+ * are handed out by deficit round-robin: every visit adds the tenant's weight
+ * to its deficit and each delivery served costs one, so a tenant with weight 3
+ * gets three slots for every one given to a tenant with weight 1, no matter how
+ * many deliveries either has queued. A tenant that floods its queue is shed
+ * with {@link OverloadedException} without affecting other tenants.
+ *
+ * <p>Round-robin serves tenants out of arrival order; the dispatcher keeps
+ * that from reordering deliveries with the same ordering key by queueing them
+ * here only once they reach the head of their lane.
+ */
+public class FairScheduler {
+    public static final String DEFAULT_TENANT_HEADER = "X-Kiket-Workspace-Id";
+    public static final int DEFAULT_WEIGHT = 1;
+
+    private final int maxConcurrent;
+    private final int maxQueuedPerTenant;
+    private final Map<String, Integer> weights;
+    private final Map<String, TenantQueue> queues = new HashMap<>();
+    private final ArrayDeque<TenantQueue> active = new ArrayDeque<>();
+    private int running;
+
+    /**
+     * @param maxConcurrent Maximum deliveries running at once across all tenants
+     * @param maxQueuedPerTenant Maximum deliveries waiting per tenant
+     * @param weights Tenant weights; unlisted tenants get {@value #DEFAULT_WEIGHT}
+     */
+    public FairScheduler(int maxConcurrent, int maxQueuedPerTenant, Map<String, Integer> weights) {
+        if (maxConcurrent <= 0 || maxQueuedPerTenant < 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive and maxQueuedPerTenant non-negative");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueuedPerTenant = maxQueuedPerTenant;
+        this.weights = weights != null ? Map.copyOf(weights) : Map.of();
+    }
+
+    /**
+     * Request a slot for a tenant's delivery.
+     *
+     * @param tenant Tenant key, or {@code ""} for deliveries without one
+     * @return Future completed once the delivery may run, or failed with
+     *         {@link OverloadedException} if the tenant's queue is full
+     */
+    public synchronized CompletableFuture<Void> acquire(String tenant) {
+        if (running < maxConcurrent && active.isEmpty()) {
+            running++;
+            return CompletableFuture.completedFuture(null);
+        }
+        TenantQueue queue = queues.computeIfAbsent(tenant, TenantQueue::new);
+        if (queue.waiting.size() >= maxQueuedPerTenant) {
+            if (queue.waiting.isEmpty()) {
+                queues.remove(tenant);
+            }
+            return CompletableFuture.failedFuture(new OverloadedException(Duration.ofSeconds(1)));
+        }
+        CompletableFuture<Void> slot = new CompletableFuture<>();
+        queue.waiting.addLast(slot);
+        if (queue.waiting.size() == 1) {
+            active.addLast(queue);
+        }
+        return slot;
+    }
+
+    /**
+     * Return a slot taken by {@link #acquire} and hand it to the next tenant in turn.
+     */
+    public void release() {
+        CompletableFuture<Void> next;
+        synchronized (this) {
+            next = pollNext();
+            if (next == null) {
+                running--;
+                return;
+            }
+        }
+        next.complete(null);
+    }
+
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    /**
+     * Number of deliveries waiting for a tenant.
+     */
+    public synchronized int getQueued(String tenant) {
+        TenantQueue queue = queues.get(tenant);
+        return queue != null ? queue.waiting.size() : 0;
+    }
+
+    private CompletableFuture<Void> pollNext() {
+        TenantQueue queue = active.peekFirst();
+        if (queue == null) {
+            return null;
+        }
+        if (queue.deficit < 1) {
+            queue.deficit += queue.weight;
+        }
+        CompletableFuture<Void> slot = queue.waiting.pollFirst();
+        queue.deficit--;
+        if (queue.waiting.isEmpty()) {
+            active.pollFirst();
+            queues.remove(queue.tenant);
+        } else if (queue.deficit < 1) {
+            active.pollFirst();
+            active.addLast(queue);
+        }
+        return slot;
+    }
+
+    private final class TenantQueue {
+        private final String tenant;
+        private final int weight;
+        private final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+        private int deficit;
+
+        private TenantQueue(String tenant) {
+            this.tenant = tenant;
+            this.weight = Math.max(1, weights.getOrDefault(tenant, DEFAULT_WEIGHT));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package dev.kiket.sdk.dispatch;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory for the executors that run webhook handlers.
+ *
+ * <p>On Java 21+ handlers run on virtual threads, so a handler blocked on a
+ * {@code KiketClient} call costs no platform thread. On Java 17 a bounded
+ * platform thread pool is used instead.
+ */
+public final class HandlerExecutors {
+    static final int DEFAULT_PLATFORM_THREADS = Math.max(32, Runtime.getRuntime().availableProcessors() * 8);
+    static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private HandlerExecutors() {
+    }
+
+    /**
+     * Create the default handler executor: virtual threads when available,
+     * otherwise a bounded platform thread pool.
+     */
+    public static ExecutorService newDefault() {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        if (virtual != null) {
+            return virtual;
+        }
+        return newBoundedPlatformExecutor(DEFAULT_PLATFORM_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Whether the running JVM supports virtual threads.
+     */
+    public static boolean virtualThreadsAvailable() {
+        return virtualThreadFactoryMethod() != null;
+    }
+
+    /**
+     * Create a bounded platform thread pool. Tasks submitted while all threads
+     * are busy and the queue is full are rejected.
+     *
+     * @param threads Maximum number of handler threads
+     * @param queueCapacity Maximum number of queued handler invocations
+     */
+    public static ExecutorService newBoundedPlatformExecutor(int threads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            60L,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new HandlerThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        Method factory = virtualThreadFactoryMethod();
+        if (factory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static Method virtualThreadFactoryMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static class HandlerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "kiket-handler-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package dev.kiket.sdk.dispatch;
+
+/**
+ * Thrown when no handler is registered for a delivered event and version.
+ */
+public class HandlerNotFoundException extends RuntimeException {
+    private final String event;
+    private final String version;
+
+    public HandlerNotFoundException(String event, String version) {
+        super("No handler registered for " + event + " (" + version + ")");
+        this.event = event;
+        this.version = version;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+}
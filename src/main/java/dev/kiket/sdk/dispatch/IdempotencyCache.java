@@ -0,0 +1,143 @@
+package dev.kiket.sdk.dispatch;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates repeated webhook deliveries.
+ *
+ * <p>A delivery that arrives while an earlier attempt with the same key is
+ * still running waits for that attempt instead of starting its own. A
+ * delivery that arrives after a successful attempt receives the cached
+ * result until it expires. Failed attempts are not cached, so a retry after
+ * a failure runs the handler again. The cache is bounded by size and TTL.
+ */
+public class IdempotencyCache {
+    public static final String DELIVERY_ID_HEADER = "X-Kiket-Delivery-Id";
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * @param maxEntries Maximum number of remembered deliveries
+     * @param ttl How long a completed result is served to retries
+     */
+    public IdempotencyCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Key a delivery by its delivery id header, or by a hash of the event,
+     * version and body when the header is absent.
+     */
+    public static String keyFor(WebhookDelivery delivery) {
+        String deliveryId = delivery.header(DELIVERY_ID_HEADER);
+        if (deliveryId != null && !deliveryId.isBlank()) {
+            return "id:" + deliveryId;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(delivery.getEvent().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(delivery.getVersion().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            if (delivery.getBody() != null) {
+                digest.update(delivery.getBody());
+            }
+            return "sha256:" + HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Run an action once per key, sharing its in-flight or cached result.
+     */
+    public CompletableFuture<Object> execute(String key, Supplier<CompletableFuture<Object>> action) {
+        long now = System.nanoTime();
+        CompletableFuture<Object> owned;
+        synchronized (entries) {
+            Entry existing = entries.get(key);
+            if (existing != null && !existing.isExpired(now)) {
+                return existing.future.copy();
+            }
+            owned = new CompletableFuture<>();
+            entries.put(key, new Entry(owned));
+            evict(now);
+        }
+
+        CompletableFuture<Object> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, error) -> {
+            synchronized (entries) {
+                Entry entry = entries.get(key);
+                if (entry != null && entry.future == owned) {
+                    if (error != null) {
+                        entries.remove(key);
+                    } else {
+                        entry.expiresAt = System.nanoTime() + ttlNanos;
+                    }
+                }
+            }
+            if (error != null) {
+                owned.completeExceptionally(error);
+            } else {
+                owned.complete(value);
+            }
+        });
+        return owned.copy();
+    }
+
+    /**
+     * Number of deliveries currently remembered.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evict(long now) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && entries.size() > maxEntries) {
+            iterator.next();
+            iterator.remove();
+        }
+        // Drop expired results from the head; entries are in insertion order
+        iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (!entry.isExpired(now)) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private static class Entry {
+        private final CompletableFuture<Object> future;
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        Entry(CompletableFuture<Object> future) {
+            this.future = future;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt > 0;
+        }
+    }
+}
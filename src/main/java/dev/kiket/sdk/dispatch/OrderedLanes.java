@@ -0,0 +1,74 @@
+package dev.kiket.sdk.dispatch;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Striped serial lanes for per-key ordering.
+ *
+ * <p>Each key hashes to one of a fixed number of lanes. A lane starts a task
+ * only after the previous task in the same lane has completed, including any
+ * asynchronous stage it returned, so tasks sharing a key never overlap or
+ * reorder. Tasks in different lanes run independently on the handler executor.
+ * Unrelated keys that share a lane are serialized with each other, so the lane
+ * count should be well above the expected number of concurrently busy keys.
+ */
+public class OrderedLanes {
+    public static final int DEFAULT_LANES = 256;
+
+    private final Lane[] lanes;
+
+    public OrderedLanes() {
+        this(DEFAULT_LANES);
+    }
+
+    public OrderedLanes(int laneCount) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("laneCount must be positive");
+        }
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    /**
+     * Run a task after every earlier task with a key in the same lane.
+     *
+     * @param key Ordering key, never {@code null}
+     * @param task Starts the work and returns its completion
+     * @return Future completed with the task's result
+     */
+    public CompletableFuture<Object> submit(Object key, Supplier<CompletableFuture<Object>> task) {
+        Lane lane = lanes[laneIndex(key)];
+        synchronized (lane) {
+            CompletableFuture<Object> result = lane.tail
+                .handle((value, error) -> null)
+                .thenCompose(ignored -> start(task));
+            lane.tail = result;
+            return result;
+        }
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    int laneIndex(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return Math.floorMod(h, lanes.length);
+    }
+
+    private static CompletableFuture<Object> start(Supplier<CompletableFuture<Object>> task) {
+        try {
+            return task.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static final class Lane {
+        private CompletableFuture<?> tail = CompletableFuture.completedFuture(null);
+    }
+}
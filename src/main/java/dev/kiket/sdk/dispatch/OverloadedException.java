@@ -0,0 +1,23 @@
+package dev.kiket.sdk.dispatch;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a delivery is shed because handler capacity and the admission
+ * queue are exhausted.
+ */
+public class OverloadedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public OverloadedException(Duration retryAfter) {
+        super("Too many concurrent deliveries");
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Suggested delay before the delivery is retried.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,38 @@
+package dev.kiket.sdk.dispatch;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * A single inbound webhook delivery: the routed event, its version, the
+ * request headers and the raw request body.
+ */
+@Data
+@Builder
+public class WebhookDelivery {
+    private String event;
+    private String version;
+    private Map<String, String> headers;
+    private byte[] body;
+
+    /**
+     * Look up a request header, ignoring case.
+     */
+    public String header(String name) {
+        if (headers == null) {
+            return null;
+        }
+        String value = headers.get(name);
+        if (value != null) {
+            return value;
+        }
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
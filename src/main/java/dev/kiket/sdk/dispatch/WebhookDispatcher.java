@@ -0,0 +1,454 @@
+package dev.kiket.sdk.dispatch;
+
+import dev.kiket.sdk.client.KiketClient;
+import dev.kiket.sdk.client.KiketClientFactory;
+import dev.kiket.sdk.client.RateLimitExceededException;
+import dev.kiket.sdk.config.SDKConfig;
+import dev.kiket.sdk.endpoints.ExtensionEndpoints;
+import dev.kiket.sdk.handler.HandlerContext;
+import dev.kiket.sdk.handler.HandlerOptions;
+import dev.kiket.sdk.handler.HandlerRegistry;
+import dev.kiket.sdk.handler.LazyPayload;
+import dev.kiket.sdk.handler.PayloadReaders;
+import dev.kiket.sdk.handler.TypedWebhookHandler;
+import dev.kiket.sdk.telemetry.TelemetryReporter;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Routes webhook deliveries to registered handlers.
+ *
+ * <p>Blocking handlers are invoked on the configured executor (virtual threads
+ * by default, see {@link HandlerExecutors}) so that the server thread that
+ * accepted the request is released while the handler runs. Async handlers are
+ * invoked directly and complete the response when their stage completes.
+ *
+ * <p>Handlers registered with an ordering key are routed through
+ * {@link OrderedLanes}: deliveries whose payloads share a key are handled one
+ * at a time in arrival order, while different keys run in parallel. The lane
+ * is entered before any other gate, so every later stage sees same-key
+ * deliveries one at a time and cannot reorder them. A
+ * {@link FairScheduler} shares capacity between tenants by weight, and only
+ * the deliveries it releases reach the {@link AdmissionController}, where
+ * deliveries beyond its capacity fail fast with {@link OverloadedException}.
+ * An {@link AdaptiveConcurrencyLimiter} further caps each handler's
+ * concurrency at a limit derived from its latency. Per-handler
+ * {@link HandlerOptions} can add a {@link Bulkhead}, a dedicated executor and
+ * an invocation deadline.
+ */
+public class WebhookDispatcher implements Closeable {
+    private final SDKConfig config;
+    private final HandlerRegistry registry;
+    private final TelemetryReporter telemetry;
+    private final Executor executor;
+    private final DispatchOptions options;
+    private final OrderedLanes orderedLanes;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final KiketClientFactory clientFactory;
+    private final KiketClientFactory ownedClientFactory;
+
+    public WebhookDispatcher(SDKConfig config, HandlerRegistry registry, TelemetryReporter telemetry, Executor executor) {
+        this(config, registry, telemetry, executor, DispatchOptions.defaults());
+    }
+
+    public WebhookDispatcher(
+        SDKConfig config,
+        HandlerRegistry registry,
+        TelemetryReporter telemetry,
+        Executor executor,
+        DispatchOptions options
+    ) {
+        this.config = config;
+        this.registry = registry;
+        this.telemetry = telemetry;
+        this.executor = executor;
+        this.options = options;
+        this.orderedLanes = options.getOrderedLanes() != null ? options.getOrderedLanes() : new OrderedLanes();
+        this.ownedClientFactory = options.getClientFactory() == null
+            ? new KiketClientFactory(config.getBaseUrl())
+            : null;
+        this.clientFactory = ownedClientFactory != null ? ownedClientFactory : options.getClientFactory();
+    }
+
+    /**
+     * Release the client factory created by this dispatcher, if no factory
+     * was passed in through {@link DispatchOptions}.
+     */
+    @Override
+    public void close() {
+        if (ownedClientFactory != null) {
+            ownedClientFactory.close();
+        }
+    }
+
+    /**
+     * Whether a handler is registered for the delivery's event and version.
+     */
+    public boolean hasHandler(WebhookDelivery delivery) {
+        return registry.get(delivery.getEvent(), delivery.getVersion()) != null;
+    }
+
+    /**
+     * Dispatch a delivery to its handler.
+     *
+     * @param delivery Verified webhook delivery
+     * @return Future completed with the handler result, or exceptionally with
+     *         {@link HandlerNotFoundException} or the handler's failure
+     */
+    public CompletableFuture<Object> dispatch(WebhookDelivery delivery) {
+        HandlerRegistry.HandlerMetadata metadata = registry.get(delivery.getEvent(), delivery.getVersion());
+        if (metadata == null) {
+            return CompletableFuture.failedFuture(
+                new HandlerNotFoundException(delivery.getEvent(), delivery.getVersion()));
+        }
+        // Take the lane slot before any gate, so a delivery held back by the
+        // scheduler, admission or the limiter cannot be overtaken by a later
+        // delivery with the same key
+        Object key = orderingKeyOf(metadata, delivery);
+        if (key != null) {
+            return orderedLanes.submit(key, () -> deduplicate(metadata, delivery));
+        }
+        return deduplicate(metadata, delivery);
+    }
+
+    /**
+     * Ordering key of a delivery, as configured on its handler.
+     *
+     * @return the key, or {@code null} if the delivery is not ordered
+     */
+    public Object orderingKey(WebhookDelivery delivery) {
+        return orderingKeyOf(registry.get(delivery.getEvent(), delivery.getVersion()), delivery);
+    }
+
+    private static Object orderingKeyOf(HandlerRegistry.HandlerMetadata metadata, WebhookDelivery delivery) {
+        String orderingKey = metadata != null ? metadata.getOptions().getOrderingKey() : null;
+        return orderingKey != null ? extractKey(delivery.getBody(), orderingKey) : null;
+    }
+
+    private CompletableFuture<Object> deduplicate(HandlerRegistry.HandlerMetadata metadata, WebhookDelivery delivery) {
+        IdempotencyCache idempotency = options.getIdempotencyCache();
+        if (idempotency != null) {
+            return idempotency.execute(IdempotencyCache.keyFor(delivery), () -> schedule(metadata, delivery));
+        }
+        return schedule(metadata, delivery);
+    }
+
+    /**
+     * Queue the delivery per tenant before admission control, so a tenant's
+     * backlog waits in (and is shed from) its own queue instead of filling the
+     * shared admission queue.
+     */
+    private CompletableFuture<Object> schedule(HandlerRegistry.HandlerMetadata metadata, WebhookDelivery delivery) {
+        FairScheduler scheduler = options.getFairScheduler();
+        if (scheduler == null) {
+            return admit(metadata, delivery);
+        }
+        return after(scheduler.acquire(tenantOf(delivery)), () -> admit(metadata, delivery),
+            (elapsed, error) -> scheduler.release());
+    }
+
+    private CompletableFuture<Object> admit(HandlerRegistry.HandlerMetadata metadata, WebhookDelivery delivery) {
+        AdmissionController admission = options.getAdmissionController();
+        if (admission == null) {
+            return limit(metadata, delivery);
+        }
+        return after(admission.acquire(metadata.getOptions().getPriority()), () -> limit(metadata, delivery),
+            (elapsed, error) -> admission.release(elapsed));
+    }
+
+    private CompletableFuture<Object> limit(HandlerRegistry.HandlerMetadata metadata, WebhookDelivery delivery) {
+        AdaptiveConcurrencyLimiter limiter = options.getConcurrencyLimiter();
+        if (limiter == null) {
+            return start(metadata, delivery, null);
+        }
+        AdaptiveConcurrencyLimiter.Limit limit = limiter.forKey(metadata.getKey());
+        // Sample from the moment the handler starts, not from the permit, so time
+        // spent in bulkheads and executor queues does not count as latency
+        AtomicLong started = new AtomicLong();
+        return after(limit.acquire(), () -> start(metadata, delivery, started), (elapsed, error) -> {
+            long startedAt = started.get();
+            if (isOverload(error)) {
+                limit.drop();
+            } else {
+                // Other failures often return early and would make the handler look faster than it is
+                limit.release(startedAt != 0 ? System.nanoTime() - startedAt : 0, error == null && startedAt != 0);
+            }
+        });
+    }
+
+    /**
+     * Whether a failure signals overload: a handler timeout, or a downstream
+     * call rejected with {@code 429} or {@code 503} or by the client's rate
+     * limiter.
+     */
+    static boolean isOverload(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof RateLimitExceededException) {
+                return true;
+            }
+            if (cause instanceof WebClientResponseException response) {
+                int status = response.getStatusCode().value();
+                return status == 429 || status == 503;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Run the next stage once a permit is granted and release the permit when it completes.
+     */
+    private static CompletableFuture<Object> after(
+        CompletableFuture<Void> permit,
+        Supplier<CompletableFuture<Object>> next,
+        BiConsumer<Long, Throwable> release
+    ) {
+        return permit.thenCompose(ignored -> {
+            long start = System.nanoTime();
+            CompletableFuture<Object> result;
+            try {
+                result = next.get();
+            } catch (RuntimeException e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            return result.whenComplete((value, error) -> release.accept(System.nanoTime() - start, error));
+        });
+    }
+
+    private String tenantOf(WebhookDelivery delivery) {
+        String tenant = options.getTenantHeader() != null ? delivery.header(options.getTenantHeader()) : null;
+        if (tenant == null && options.getTenantKey() != null) {
+            Object value = extractKey(delivery.getBody(), options.getTenantKey());
+            tenant = value != null ? value.toString() : null;
+        }
+        return tenant != null ? tenant : "";
+    }
+
+    /**
+     * @param started Set to the time the handler starts, or {@code null}
+     */
+    private CompletableFuture<Object> start(
+        HandlerRegistry.HandlerMetadata metadata,
+        WebhookDelivery delivery,
+        AtomicLong started
+    ) {
+        HandlerOptions handlerOptions = metadata.getOptions();
+        if (handlerOptions.getMaxConcurrency() <= 0) {
+            return execute(metadata, delivery, started, () -> { });
+        }
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(metadata.getKey(),
+            key -> new Bulkhead(handlerOptions.getMaxConcurrency(), handlerOptions.getMaxQueued()));
+        // Not released through after(): a timed-out blocking handler keeps its permit until it returns
+        return bulkhead.acquire().thenCompose(ignored -> {
+            try {
+                return execute(metadata, delivery, started, bulkhead::release);
+            } catch (RuntimeException e) {
+                bulkhead.release();
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+
+    /**
+     * @param finished Run once the handler has actually finished; for a blocking
+     *        handler that outlives its deadline, after the returned future has
+     *        already failed with {@link TimeoutException}
+     */
+    private CompletableFuture<Object> execute(
+        HandlerRegistry.HandlerMetadata metadata,
+        WebhookDelivery delivery,
+        AtomicLong started,
+        Runnable finished
+    ) {
+        HandlerOptions handlerOptions = metadata.getOptions();
+        Duration timeout = handlerOptions.getTimeout();
+        Instant deadline = timeout != null ? Instant.now().plus(timeout) : null;
+        if (metadata.isAsync()) {
+            CompletableFuture<Object> result = invokeAsync(metadata, delivery, deadline, started);
+            if (timeout != null) {
+                result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            // An async handler holds no thread, so it counts as finished once its deadline passes
+            return result.whenComplete((value, error) -> finished.run());
+        }
+
+        Executor target = handlerOptions.getExecutor() != null ? handlerOptions.getExecutor() : executor;
+        if (timeout == null) {
+            return CompletableFuture.supplyAsync(() -> invoke(metadata, delivery, null, started), target)
+                .whenComplete((value, error) -> finished.run());
+        }
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        CompletableFuture<Object> running = CompletableFuture.supplyAsync(() -> {
+            if (!Instant.now().isBefore(deadline)) {
+                // Waited in the executor queue past the deadline; do not start the handler
+                throw new CompletionException(new TimeoutException("Handler deadline exceeded"));
+            }
+            worker.set(Thread.currentThread());
+            try {
+                return invoke(metadata, delivery, deadline, started);
+            } finally {
+                synchronized (worker) {
+                    worker.set(null);
+                }
+                // Clear an interrupt that raced with completion so it does not leak into the next task
+                Thread.interrupted();
+            }
+        }, target);
+        running.whenComplete((value, error) -> finished.run());
+        // Time out a copy, so the running future still tracks when the handler really returns
+        return running.copy().orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error instanceof TimeoutException) {
+                synchronized (worker) {
+                    Thread thread = worker.get();
+                    if (thread != null) {
+                        thread.interrupt();
+                    }
+                }
+            }
+        });
+    }
+
+    private CompletableFuture<Object> invokeAsync(
+        HandlerRegistry.HandlerMetadata metadata,
+        WebhookDelivery delivery,
+        Instant deadline,
+        AtomicLong started
+    ) {
+        long start = System.nanoTime();
+        if (started != null) {
+            started.set(start);
+        }
+        CompletableFuture<Object> result;
+        try {
+            CompletionStage<?> stage = metadata.getAsyncHandler()
+                .handle(payloadFor(metadata, delivery), buildContext(delivery, deadline));
+            result = stage != null
+                ? stage.toCompletableFuture().thenApply(value -> (Object) value)
+                : CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, error) -> recordOutcome(delivery, start, error));
+    }
+
+    private Object invoke(
+        HandlerRegistry.HandlerMetadata metadata,
+        WebhookDelivery delivery,
+        Instant deadline,
+        AtomicLong started
+    ) {
+        long start = System.nanoTime();
+        if (started != null) {
+            started.set(start);
+        }
+        try {
+            Object result = metadata.isTyped()
+                ? invokeTyped(metadata, delivery, deadline)
+                : metadata.getHandler().handle(payloadFor(metadata, delivery), buildContext(delivery, deadline));
+            recordOutcome(delivery, start, null);
+            return result;
+        } catch (Exception e) {
+            recordOutcome(delivery, start, e);
+            throw new CompletionException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object invokeTyped(HandlerRegistry.HandlerMetadata metadata, WebhookDelivery delivery, Instant deadline)
+        throws Exception {
+        byte[] body = delivery.getBody();
+        // Bind straight from the request bytes; no intermediate map is built
+        Object payload;
+        if (metadata.getPayloadReader() == null) {
+            payload = LazyPayload.of(body);
+        } else {
+            payload = body == null || body.length == 0 ? null : metadata.getPayloadReader().readValue(body);
+        }
+        return ((TypedWebhookHandler<Object>) metadata.getTypedHandler()).handle(payload, buildContext(delivery, deadline));
+    }
+
+    private void recordOutcome(WebhookDelivery delivery, long start, Throwable error) {
+        if (error == null) {
+            telemetry.record(delivery.getEvent(), delivery.getVersion(), "ok", elapsedMs(start), null);
+            return;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        telemetry.record(delivery.getEvent(), delivery.getVersion(), "error", elapsedMs(start),
+            cause.getMessage(), cause.getClass().getName());
+    }
+
+    HandlerContext buildContext(WebhookDelivery delivery, Instant deadline) {
+        KiketClient client = clientFactory.client(
+            config.getWorkspaceToken(),
+            delivery.getVersion(),
+            config.getExtensionApiKey()
+        );
+        if (deadline != null) {
+            client = client.withDeadline(deadline);
+        }
+        ExtensionEndpoints endpoints = new ExtensionEndpoints(client, config.getExtensionId(), delivery.getVersion());
+
+        return HandlerContext.builder()
+            .event(delivery.getEvent())
+            .eventVersion(delivery.getVersion())
+            .headers(delivery.getHeaders())
+            .client(client)
+            .endpoints(endpoints)
+            .settings(config.getSettings())
+            .extensionId(config.getExtensionId())
+            .extensionVersion(config.getExtensionVersion())
+            .secrets(endpoints.getSecrets())
+            .build();
+    }
+
+    private static Map<String, Object> payloadFor(HandlerRegistry.HandlerMetadata metadata, WebhookDelivery delivery)
+        throws IOException {
+        if (metadata.getOptions().isLazyPayload()) {
+            return LazyPayload.of(delivery.getBody());
+        }
+        return parsePayload(delivery.getBody());
+    }
+
+    private static Map<String, Object> parsePayload(byte[] body) throws IOException {
+        if (body == null || body.length == 0) {
+            return new HashMap<>();
+        }
+        return PayloadReaders.MAP.readValue(body);
+    }
+
+    /**
+     * Resolve a dotted path such as {@code "issue.id"} against the raw payload.
+     * Only the objects on the path are scanned; nothing else is materialized.
+     *
+     * @return the value, or {@code null} if any segment is missing or the payload is malformed
+     */
+    static Object extractKey(byte[] body, String path) {
+        try {
+            return LazyPayload.of(body).getValue(path);
+        } catch (UncheckedIOException e) {
+            // Malformed payloads have no key; the handler reports the parse failure
+            return null;
+        }
+    }
+
+    private static double elapsedMs(long start) {
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+}
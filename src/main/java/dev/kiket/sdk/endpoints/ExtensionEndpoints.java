@@ -1,6 +1,7 @@
 package dev.kiket.sdk.endpoints;
 
 import dev.kiket.sdk.client.KiketClient;
+import dev.kiket.sdk.client.RateLimitStatus;
 import dev.kiket.sdk.secrets.ExtensionSecretManager;
 
 import java.util.Map;
@@ -56,12 +57,31 @@ public class ExtensionEndpoints {
         return new SlaEventsClient(client, projectId.toString());
     }
 
+    /**
+     * Current rate limit window. Served from the client's view of recent
+     * response headers when available; otherwise fetched from the API, which
+     * also refreshes that view.
+     */
     public RateLimitInfo rateLimit() {
+        RateLimitStatus cached = client.getRateLimitStatus();
+        if (cached != null) {
+            RateLimitInfo info = new RateLimitInfo();
+            info.setLimit(cached.getLimit());
+            info.setRemaining(cached.getRemaining());
+            info.setWindowSeconds(cached.getWindowSeconds());
+            info.setResetIn(cached.getResetIn());
+            return info;
+        }
+
         RateLimitResponse response = client.get("/api/v1/ext/rate_limit", RateLimitResponse.class)
             .block();
         if (response == null) {
             return null;
         }
-        return response.getRateLimit();
+        RateLimitInfo info = response.getRateLimit();
+        if (info != null) {
+            client.updateRateLimit(info.getLimit(), info.getRemaining(), info.getResetIn(), info.getWindowSeconds());
+        }
+        return info;
     }
 }
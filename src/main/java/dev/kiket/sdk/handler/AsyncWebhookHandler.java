@@ -0,0 +1,44 @@
+package dev.kiket.sdk.handler;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Functional interface for non-blocking webhook handlers.
+ *
+ * <p>The handler is invoked on the thread that accepted the request and must
+ * not block; compose the {@code Mono}s returned by {@code KiketClient} instead
+ * of calling {@code block()}.
+ */
+@FunctionalInterface
+public interface AsyncWebhookHandler {
+    /**
+     * Handle a webhook event.
+     *
+     * @param payload Event payload
+     * @param context Handler context
+     * @return Stage completed with the response object
+     * @throws Exception if handler fails
+     */
+    CompletionStage<?> handle(Map<String, Object> payload, HandlerContext context) throws Exception;
+
+    /**
+     * Adapt a handler returning a Reactor {@link Mono}.
+     */
+    static AsyncWebhookHandler fromMono(MonoHandler handler) {
+        return (payload, context) -> {
+            Mono<?> result = handler.handle(payload, context);
+            return result != null ? result.toFuture() : null;
+        };
+    }
+
+    /**
+     * Functional interface for handlers returning a Reactor {@link Mono}.
+     */
+    @FunctionalInterface
+    interface MonoHandler {
+        Mono<?> handle(Map<String, Object> payload, HandlerContext context) throws Exception;
+    }
+}
@@ -0,0 +1,64 @@
+package dev.kiket.sdk.handler;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Per-handler dispatch options supplied at registration.
+ */
+@Data
+@Builder
+public class HandlerOptions {
+    /**
+     * Dotted payload path (for example {@code "issue.id"}) whose value orders
+     * deliveries. Deliveries with the same key are handled one at a time in
+     * arrival order; deliveries with different keys run in parallel.
+     */
+    private String orderingKey;
+
+    /**
+     * Hand the handler a {@link LazyPayload} instead of a fully parsed map, so
+     * only the fields it reads are parsed.
+     */
+    private boolean lazyPayload;
+
+    /**
+     * Admission priority when the dispatcher is saturated.
+     */
+    @Builder.Default
+    private HandlerPriority priority = HandlerPriority.NORMAL;
+
+    /**
+     * Dedicated executor for a blocking handler, isolating it from the shared
+     * handler executor. The caller owns its lifecycle.
+     */
+    private Executor executor;
+
+    /**
+     * Maximum concurrent invocations of the handler, or {@code 0} for no cap.
+     * A blocking invocation that ignores the interrupt at its deadline keeps
+     * counting until it returns.
+     */
+    private int maxConcurrency;
+
+    /**
+     * Maximum invocations waiting for a slot under {@link #maxConcurrency};
+     * further deliveries are shed.
+     */
+    @Builder.Default
+    private int maxQueued = Integer.MAX_VALUE;
+
+    /**
+     * Deadline for each invocation. When it passes the delivery fails with a
+     * timeout, outbound {@code KiketClient} calls made through the handler
+     * context are cancelled and a blocking handler thread is interrupted.
+     */
+    private Duration timeout;
+
+    public static HandlerOptions defaults() {
+        return HandlerOptions.builder().build();
+    }
+}
@@ -0,0 +1,12 @@
+package dev.kiket.sdk.handler;
+
+/**
+ * Admission priority of an event under overload. Higher priorities may use
+ * more of the admission queue and displace queued lower-priority deliveries.
+ */
+public enum HandlerPriority {
+    CRITICAL,
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -1,52 +1,130 @@
 package dev.kiket.sdk.handler;
 
+import com.fasterxml.jackson.databind.ObjectReader;
 import lombok.Data;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Registry for webhook handlers.
+ *
+ * <p>Registrations are compiled into an immutable {@link RoutingTable} that is
+ * replaced on every change, so lookups never lock or allocate. The SDK freezes
+ * the registry when it starts; later registrations are rejected.
  */
 public class HandlerRegistry {
-    private final Map<String, HandlerMetadata> handlers = new ConcurrentHashMap<>();
+    /**
+     * Version that matches any delivery without a more specific handler.
+     */
+    public static final String ANY_VERSION = "*";
+
+    private final Map<String, HandlerMetadata> handlers = new LinkedHashMap<>();
+    private volatile RoutingTable table = RoutingTable.EMPTY;
+    private VersionFallback versionFallback = VersionFallback.EXACT;
+    private boolean frozen;
 
     /**
      * Register a webhook handler.
      */
     public void register(String event, String version, WebhookHandler handler) {
-        String key = makeKey(event, version);
-        handlers.put(key, new HandlerMetadata(event, version, handler));
+        register(event, version, handler, HandlerOptions.defaults());
+    }
+
+    /**
+     * Register a webhook handler with dispatch options.
+     */
+    public void register(String event, String version, WebhookHandler handler, HandlerOptions options) {
+        put(new HandlerMetadata(event, version, handler, null, orDefaults(options)));
+    }
+
+    /**
+     * Register a webhook handler whose payload is bound to {@code payloadType}.
+     * Pass {@link LazyPayload} to receive a lazy view of the raw payload.
+     */
+    public <T> void register(String event, String version, Class<T> payloadType, TypedWebhookHandler<T> handler) {
+        register(event, version, payloadType, handler, HandlerOptions.defaults());
+    }
+
+    /**
+     * Register a typed webhook handler with dispatch options.
+     */
+    public <T> void register(
+        String event,
+        String version,
+        Class<T> payloadType,
+        TypedWebhookHandler<T> handler,
+        HandlerOptions options
+    ) {
+        // LazyPayload is built over the raw bytes rather than bound by a reader
+        ObjectReader reader = payloadType == LazyPayload.class ? null : PayloadReaders.forType(payloadType);
+        put(new HandlerMetadata(event, version, null, null, handler, reader, orDefaults(options)));
+    }
+
+    /**
+     * Register a non-blocking webhook handler.
+     */
+    public void registerAsync(String event, String version, AsyncWebhookHandler handler) {
+        registerAsync(event, version, handler, HandlerOptions.defaults());
+    }
+
+    /**
+     * Register a non-blocking webhook handler with dispatch options.
+     */
+    public void registerAsync(String event, String version, AsyncWebhookHandler handler, HandlerOptions options) {
+        put(new HandlerMetadata(event, version, null, handler, orDefaults(options)));
     }
 
     /**
-     * Get a handler for an event and version.
+     * Set how deliveries for unregistered versions are routed.
+     */
+    public synchronized void setVersionFallback(VersionFallback versionFallback) {
+        this.versionFallback = versionFallback;
+        table = RoutingTable.build(handlers.values(), versionFallback);
+    }
+
+    /**
+     * Reject further registrations.
+     */
+    public synchronized void freeze() {
+        frozen = true;
+    }
+
+    public synchronized boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Get a handler for an event and version, applying the version fallback
+     * when no handler matches the version exactly.
      */
     public HandlerMetadata get(String event, String version) {
-        String key = makeKey(event, version);
-        return handlers.get(key);
+        return table.lookup(event, version);
     }
 
     /**
      * Get all registered event names.
      */
     public List<String> eventNames() {
-        Set<String> events = new HashSet<>();
-        for (HandlerMetadata metadata : handlers.values()) {
-            events.add(metadata.getEvent());
-        }
-        return new ArrayList<>(events);
+        return table.eventNames();
     }
 
     /**
      * Get all handlers.
      */
     public Collection<HandlerMetadata> all() {
-        return handlers.values();
+        return table.handlers();
     }
 
-    private String makeKey(String event, String version) {
-        return event + ":" + version;
+    private synchronized void put(HandlerMetadata metadata) {
+        if (frozen) {
+            throw new IllegalStateException("Handlers cannot be registered after the SDK has started");
+        }
+        handlers.put(metadata.getKey(), metadata);
+        table = RoutingTable.build(handlers.values(), versionFallback);
+    }
+
+    private static HandlerOptions orDefaults(HandlerOptions options) {
+        return options != null ? options : HandlerOptions.defaults();
     }
 
     @Data
@@ -54,5 +132,57 @@ public class HandlerRegistry {
         private final String event;
         private final String version;
         private final WebhookHandler handler;
+        private final AsyncWebhookHandler asyncHandler;
+        private final TypedWebhookHandler<?> typedHandler;
+        /**
+         * Reader binding the payload for {@link #typedHandler}, or {@code null} for {@link LazyPayload}.
+         */
+        private final ObjectReader payloadReader;
+        private final HandlerOptions options;
+        /**
+         * {@code event:version}, computed once for per-handler state such as limits.
+         */
+        private final String key;
+
+        public HandlerMetadata(String event, String version, WebhookHandler handler) {
+            this(event, version, handler, null, HandlerOptions.defaults());
+        }
+
+        public HandlerMetadata(
+            String event,
+            String version,
+            WebhookHandler handler,
+            AsyncWebhookHandler asyncHandler,
+            HandlerOptions options
+        ) {
+            this(event, version, handler, asyncHandler, null, null, options);
+        }
+
+        public HandlerMetadata(
+            String event,
+            String version,
+            WebhookHandler handler,
+            AsyncWebhookHandler asyncHandler,
+            TypedWebhookHandler<?> typedHandler,
+            ObjectReader payloadReader,
+            HandlerOptions options
+        ) {
+            this.event = event.intern();
+            this.version = version.intern();
+            this.handler = handler;
+            this.asyncHandler = asyncHandler;
+            this.typedHandler = typedHandler;
+            this.payloadReader = payloadReader;
+            this.options = options;
+            this.key = (event + ":" + version).intern();
+        }
+
+        public boolean isAsync() {
+            return asyncHandler != null;
+        }
+
+        public boolean isTyped() {
+            return typedHandler != null;
+        }
     }
 }
@@ -0,0 +1,312 @@
+package dev.kiket.sdk.handler;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only payload view over the raw JSON bytes of a delivery.
+ *
+ * <p>Nothing is parsed up front. The first access to an object records where
+ * each of its fields starts and ends in the buffer, skipping over nested
+ * content without building objects, and only the values that are read are
+ * materialized. Nested objects are returned as further lazy views, so
+ * {@code payload.getString("issue.title")} touches only the {@code issue}
+ * object and its {@code title}. Numeric path segments index into arrays
+ * ({@code "issue.labels.0"}).
+ *
+ * <p>Values are materialized like the default {@code Map} payload: strings,
+ * {@code Integer}/{@code Long}/{@code BigInteger}, {@code Double}, booleans
+ * and lists. Instances are not thread-safe.
+ */
+public final class LazyPayload extends AbstractMap<String, Object> {
+    private static final byte[] EMPTY_OBJECT = {'{', '}'};
+
+    private final byte[] json;
+    private final int offset;
+    private final int length;
+    private String[] names;
+    private int[] starts;
+    private int[] ends;
+    private Object[] values;
+    private boolean[] materialized;
+    private int size = -1;
+
+    private LazyPayload(byte[] json, int offset, int length) {
+        this.json = json;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * View over a JSON object. An empty body is treated as an empty object.
+     */
+    public static LazyPayload of(byte[] json) {
+        if (json == null || json.length == 0) {
+            // Instances cache their index, so even the empty payload is not shared
+            return new LazyPayload(EMPTY_OBJECT, 0, 2);
+        }
+        return new LazyPayload(json, 0, json.length);
+    }
+
+    /**
+     * Resolve a dotted path.
+     *
+     * @return the value, or {@code null} if any segment is missing
+     */
+    public Object getValue(String path) {
+        Object current = this;
+        int from = 0;
+        while (true) {
+            int dot = path.indexOf('.', from);
+            String segment = dot < 0 ? path.substring(from) : path.substring(from, dot);
+            if (current instanceof LazyPayload object) {
+                current = object.get(segment);
+            } else if (current instanceof List<?> list) {
+                int index = parseIndex(segment);
+                current = index >= 0 && index < list.size() ? list.get(index) : null;
+            } else {
+                return null;
+            }
+            if (dot < 0 || current == null) {
+                return current;
+            }
+            from = dot + 1;
+        }
+    }
+
+    /**
+     * Whether a dotted path resolves to a non-null value.
+     */
+    public boolean has(String path) {
+        return getValue(path) != null;
+    }
+
+    /**
+     * String at a path; numbers and booleans are converted to their text.
+     */
+    public String getString(String path) {
+        Object value = getValue(path);
+        if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        return null;
+    }
+
+    public Long getLong(String path) {
+        Object value = getValue(path);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    public Integer getInt(String path) {
+        Object value = getValue(path);
+        return value instanceof Number number ? number.intValue() : null;
+    }
+
+    public Double getDouble(String path) {
+        Object value = getValue(path);
+        return value instanceof Number number ? number.doubleValue() : null;
+    }
+
+    public Boolean getBoolean(String path) {
+        Object value = getValue(path);
+        return value instanceof Boolean bool ? bool : null;
+    }
+
+    public LazyPayload getObject(String path) {
+        Object value = getValue(path);
+        return value instanceof LazyPayload object ? object : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Object> getList(String path) {
+        Object value = getValue(path);
+        return value instanceof List<?> list ? (List<Object>) list : null;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int field = indexOf(key);
+        return field >= 0 ? valueAt(field) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        index();
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        index();
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (next >= size) {
+                            throw new NoSuchElementException();
+                        }
+                        int field = next++;
+                        return new SimpleImmutableEntry<>(names[field], valueAt(field));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+        index();
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Object valueAt(int field) {
+        if (!materialized[field]) {
+            values[field] = parseValue(starts[field], ends[field]);
+            materialized[field] = true;
+        }
+        return values[field];
+    }
+
+    /**
+     * Record the byte range of every field of this object, skipping over their content.
+     */
+    private void index() {
+        if (size >= 0) {
+            return;
+        }
+        String[] fieldNames = new String[8];
+        int[] fieldStarts = new int[8];
+        int[] fieldEnds = new int[8];
+        int count = 0;
+        try (JsonParser parser = parser(offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new UncheckedIOException(new IOException("Payload is not a JSON object"));
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                int start = offset + (int) parser.currentTokenLocation().getByteOffset();
+                if (parser.currentToken().isStructStart()) {
+                    parser.skipChildren();
+                } else {
+                    parser.finishToken();
+                }
+                int end = offset + (int) parser.currentLocation().getByteOffset();
+                if (count == fieldNames.length) {
+                    fieldNames = Arrays.copyOf(fieldNames, count * 2);
+                    fieldStarts = Arrays.copyOf(fieldStarts, count * 2);
+                    fieldEnds = Arrays.copyOf(fieldEnds, count * 2);
+                }
+                fieldNames[count] = name;
+                fieldStarts[count] = start;
+                fieldEnds[count] = end;
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        names = fieldNames;
+        starts = fieldStarts;
+        ends = fieldEnds;
+        values = new Object[count];
+        materialized = new boolean[count];
+        size = count;
+    }
+
+    private Object parseValue(int start, int end) {
+        try (JsonParser parser = parser(start, end - start)) {
+            parser.nextToken();
+            return readValue(parser, start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read the value at the parser's current token. Objects become lazy views
+     * and are skipped; {@code base} converts parser offsets back to buffer offsets.
+     */
+    private Object readValue(JsonParser parser, int base) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT: {
+                int start = base + (int) parser.currentTokenLocation().getByteOffset();
+                parser.skipChildren();
+                int end = base + (int) parser.currentLocation().getByteOffset();
+                return new LazyPayload(json, start, end - start);
+            }
+            case START_ARRAY: {
+                List<Object> items = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    items.add(readValue(parser, base));
+                }
+                return Collections.unmodifiableList(items);
+            }
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    private JsonParser parser(int start, int count) throws IOException {
+        return PayloadReaders.FACTORY.createParser(json, start, count);
+    }
+
+    private static int parseIndex(String segment) {
+        if (segment.isEmpty() || segment.length() > 9) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+}
@@ -0,0 +1,46 @@
+package dev.kiket.sdk.handler;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared readers for webhook payloads.
+ *
+ * <p>Readers are immutable and thread-safe. Each one is created when its
+ * handler is registered, which also resolves its deserializer, so the first
+ * delivery does not pay for introspecting the payload type. Unknown properties
+ * are ignored so that new payload fields do not break existing handlers.
+ */
+public final class PayloadReaders {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .findAndRegisterModules()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * Factory for the streaming parsers used by {@link LazyPayload}.
+     */
+    static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    /**
+     * Reader producing the untyped {@code Map} payload.
+     */
+    public static final ObjectReader MAP = MAPPER.readerFor(new TypeReference<Map<String, Object>>() {});
+
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private PayloadReaders() {
+    }
+
+    /**
+     * Reader binding payloads to {@code type}, created once per type.
+     */
+    public static ObjectReader forType(Class<?> type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+}
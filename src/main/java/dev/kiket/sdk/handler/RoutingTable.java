@@ -0,0 +1,180 @@
+package dev.kiket.sdk.handler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable two-level routing table: event name, then version. Fallback
+ * targets are resolved when the table is built, so a lookup is at most two
+ * hash probes and an array read, and never allocates.
+ */
+final class RoutingTable {
+    /**
+     * Majors above this are only routed by exact match, which keeps the fallback array small.
+     */
+    private static final int MAX_FALLBACK_MAJOR = 255;
+
+    static final RoutingTable EMPTY = build(List.of(), VersionFallback.EXACT);
+
+    private final Map<String, EventRoutes> events;
+    private final List<String> eventNames;
+    private final List<HandlerRegistry.HandlerMetadata> handlers;
+
+    private RoutingTable(
+        Map<String, EventRoutes> events,
+        List<String> eventNames,
+        List<HandlerRegistry.HandlerMetadata> handlers
+    ) {
+        this.events = events;
+        this.eventNames = eventNames;
+        this.handlers = handlers;
+    }
+
+    static RoutingTable build(Collection<HandlerRegistry.HandlerMetadata> handlers, VersionFallback fallback) {
+        Map<String, List<HandlerRegistry.HandlerMetadata>> byEvent = new LinkedHashMap<>();
+        for (HandlerRegistry.HandlerMetadata metadata : handlers) {
+            byEvent.computeIfAbsent(metadata.getEvent(), event -> new ArrayList<>()).add(metadata);
+        }
+        Map<String, EventRoutes> events = new HashMap<>();
+        byEvent.forEach((event, versions) -> events.put(event, EventRoutes.build(versions, fallback)));
+        return new RoutingTable(
+            events,
+            Collections.unmodifiableList(new ArrayList<>(byEvent.keySet())),
+            Collections.unmodifiableList(new ArrayList<>(handlers))
+        );
+    }
+
+    HandlerRegistry.HandlerMetadata lookup(String event, String version) {
+        EventRoutes routes = events.get(event);
+        return routes != null ? routes.lookup(version) : null;
+    }
+
+    List<String> eventNames() {
+        return eventNames;
+    }
+
+    List<HandlerRegistry.HandlerMetadata> handlers() {
+        return handlers;
+    }
+
+    /**
+     * Parse the leading number of a version such as {@code v2.1} or {@code 3}.
+     *
+     * @return the major version, or {@code -1} if the version has none
+     */
+    static int majorOf(String version) {
+        if (version == null) {
+            return -1;
+        }
+        int i = 0;
+        if (i < version.length() && (version.charAt(i) == 'v' || version.charAt(i) == 'V')) {
+            i++;
+        }
+        int major = 0;
+        int digits = 0;
+        for (; i < version.length() && digits < 9; i++, digits++) {
+            char c = version.charAt(i);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            major = major * 10 + (c - '0');
+        }
+        return digits > 0 ? major : -1;
+    }
+
+    /**
+     * Compare two versions numerically component by component ({@code v2.10 > v2.9}).
+     */
+    static int compareVersions(String left, String right) {
+        String[] a = stripPrefix(left).split("\\.");
+        String[] b = stripPrefix(right).split("\\.");
+        for (int i = 0; i < Math.max(a.length, b.length); i++) {
+            int x = i < a.length ? parseComponent(a[i]) : 0;
+            int y = i < b.length ? parseComponent(b[i]) : 0;
+            if (x != y) {
+                return Integer.compare(x, y);
+            }
+        }
+        return 0;
+    }
+
+    private static String stripPrefix(String version) {
+        return version.startsWith("v") || version.startsWith("V") ? version.substring(1) : version;
+    }
+
+    private static int parseComponent(String component) {
+        int value = 0;
+        for (int i = 0; i < component.length() && Character.isDigit(component.charAt(i)); i++) {
+            value = value * 10 + (component.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static final class EventRoutes {
+        private final Map<String, HandlerRegistry.HandlerMetadata> versions;
+        private final HandlerRegistry.HandlerMetadata[] latestByMajor;
+        private final HandlerRegistry.HandlerMetadata wildcard;
+
+        private EventRoutes(
+            Map<String, HandlerRegistry.HandlerMetadata> versions,
+            HandlerRegistry.HandlerMetadata[] latestByMajor,
+            HandlerRegistry.HandlerMetadata wildcard
+        ) {
+            this.versions = versions;
+            this.latestByMajor = latestByMajor;
+            this.wildcard = wildcard;
+        }
+
+        static EventRoutes build(List<HandlerRegistry.HandlerMetadata> handlers, VersionFallback fallback) {
+            Map<String, HandlerRegistry.HandlerMetadata> versions = new HashMap<>();
+            HandlerRegistry.HandlerMetadata wildcard = null;
+            int maxMajor = -1;
+            for (HandlerRegistry.HandlerMetadata metadata : handlers) {
+                if (HandlerRegistry.ANY_VERSION.equals(metadata.getVersion())) {
+                    wildcard = metadata;
+                } else {
+                    versions.put(metadata.getVersion(), metadata);
+                    int major = majorOf(metadata.getVersion());
+                    if (major <= MAX_FALLBACK_MAJOR) {
+                        maxMajor = Math.max(maxMajor, major);
+                    }
+                }
+            }
+
+            HandlerRegistry.HandlerMetadata[] latestByMajor = new HandlerRegistry.HandlerMetadata[0];
+            if (fallback == VersionFallback.LATEST_COMPATIBLE && maxMajor >= 0) {
+                latestByMajor = new HandlerRegistry.HandlerMetadata[maxMajor + 1];
+                for (HandlerRegistry.HandlerMetadata metadata : versions.values()) {
+                    int major = majorOf(metadata.getVersion());
+                    if (major < 0 || major > MAX_FALLBACK_MAJOR) {
+                        continue;
+                    }
+                    HandlerRegistry.HandlerMetadata current = latestByMajor[major];
+                    if (current == null || compareVersions(metadata.getVersion(), current.getVersion()) > 0) {
+                        latestByMajor[major] = metadata;
+                    }
+                }
+            }
+            return new EventRoutes(versions, latestByMajor, wildcard);
+        }
+
+        HandlerRegistry.HandlerMetadata lookup(String version) {
+            HandlerRegistry.HandlerMetadata exact = versions.get(version);
+            if (exact != null) {
+                return exact;
+            }
+            if (latestByMajor.length > 0) {
+                int major = majorOf(version);
+                if (major >= 0 && major < latestByMajor.length && latestByMajor[major] != null) {
+                    return latestByMajor[major];
+                }
+            }
+            return wildcard;
+        }
+    }
+}
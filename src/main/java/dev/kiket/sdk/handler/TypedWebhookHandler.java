@@ -0,0 +1,20 @@
+package dev.kiket.sdk.handler;
+
+/**
+ * Functional interface for webhook handlers that receive the payload bound to
+ * a record or POJO instead of a map.
+ *
+ * @param <T> Payload type
+ */
+@FunctionalInterface
+public interface TypedWebhookHandler<T> {
+    /**
+     * Handle a webhook event.
+     *
+     * @param payload Event payload, or {@code null} if the delivery has no body
+     * @param context Handler context
+     * @return Response object
+     * @throws Exception if handler fails
+     */
+    Object handle(T payload, HandlerContext context) throws Exception;
+}
@@ -0,0 +1,20 @@
+package dev.kiket.sdk.handler;
+
+/**
+ * How a delivery is routed when no handler is registered for its exact version.
+ * A handler registered for {@value HandlerRegistry#ANY_VERSION} is used as the
+ * last resort under every policy.
+ */
+public enum VersionFallback {
+    /**
+     * Only exact version matches (and the wildcard handler) are used.
+     */
+    EXACT,
+
+    /**
+     * Fall back to the newest registered version with the same major version,
+     * so a {@code v2.3} delivery reaches the {@code v2.4} handler, or {@code v2}
+     * if that is the only one.
+     */
+    LATEST_COMPATIBLE
+}
@@ -0,0 +1,385 @@
+package dev.kiket.sdk.queue;
+
+import dev.kiket.sdk.dispatch.WebhookDelivery;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Durable, memory-mapped, segmented append log of webhook deliveries.
+ *
+ * <p>Each segment is a fixed-size file mapped into memory. A record is laid out as
+ * {@code [int length][byte state][int crc32][data]}; the length is written last,
+ * so a record interrupted by a crash is never read back. Completed records are
+ * marked in place, and a segment file is deleted once every record in it has
+ * been read and completed. Records still pending when the process stops are
+ * read again after a restart.
+ *
+ * <p>Writes land in the OS page cache, which survives a process crash. Enable
+ * {@code syncOnAppend} to also force each record to disk before it is acknowledged.
+ */
+public class DeliveryLog implements Closeable {
+    public static final int DEFAULT_SEGMENT_SIZE = 32 * 1024 * 1024;
+
+    static final int HEADER_SIZE = 9;
+    static final byte STATE_PENDING = 1;
+    static final byte STATE_DONE = 2;
+    private static final int END_OF_SEGMENT = -1;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean syncOnAppend;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSegmentIndex;
+    private Segment writeSegment;
+    private Segment readSegment;
+    private int readOffset;
+    private boolean closed;
+
+    /**
+     * Open the log in a directory, creating it if needed. Pending records left
+     * by a previous process are returned by {@link #poll} before new ones.
+     */
+    public DeliveryLog(Path directory, int segmentSize, boolean syncOnAppend) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncOnAppend = syncOnAppend;
+        Files.createDirectories(directory);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            Path[] existing = files
+                .filter(path -> path.getFileName().toString().matches("segment-\\d+\\.log"))
+                .sorted()
+                .toArray(Path[]::new);
+            for (Path path : existing) {
+                Segment segment = Segment.open(path, segmentIndex(path));
+                segments.addLast(segment);
+                nextSegmentIndex = segment.index + 1;
+            }
+        }
+        for (Segment segment : segments) {
+            segment.countPending();
+        }
+
+        // Never append to a segment written by a previous process; its tail may be torn
+        writeSegment = newSegment(segmentSize);
+        readSegment = segments.peekFirst();
+        readOffset = 0;
+    }
+
+    /**
+     * Append a delivery. When this returns, the delivery survives a process crash.
+     */
+    public synchronized void append(WebhookDelivery delivery) throws IOException {
+        ensureOpen();
+        byte[] data = encode(delivery);
+        int recordSize = HEADER_SIZE + data.length;
+        if (writeSegment.writeOffset + recordSize > writeSegment.capacity()) {
+            writeSegment.seal();
+            writeSegment = newSegment(Math.max(segmentSize, recordSize + Integer.BYTES));
+        }
+
+        MappedByteBuffer buffer = writeSegment.buffer;
+        int offset = writeSegment.writeOffset;
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        buffer.put(offset + HEADER_SIZE, data);
+        buffer.putInt(offset + 5, (int) crc.getValue());
+        buffer.put(offset + 4, STATE_PENDING);
+        buffer.putInt(offset, data.length);
+        if (syncOnAppend) {
+            buffer.force(offset, recordSize);
+        }
+        writeSegment.writeOffset += recordSize;
+        writeSegment.pending++;
+        notifyAll();
+    }
+
+    /**
+     * Take the next pending record, waiting up to the given time for one to be appended.
+     *
+     * @return the record, or {@code null} on timeout or when the log is closed
+     */
+    public synchronized Record poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!closed) {
+            Record record = next();
+            if (record != null) {
+                return record;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return null;
+    }
+
+    /**
+     * Mark a record as completed so it is not replayed after a restart.
+     */
+    public synchronized void complete(Record record) {
+        Segment segment = record.segment;
+        if (segment.deleted) {
+            return;
+        }
+        segment.buffer.put(record.offset + 4, STATE_DONE);
+        segment.pending--;
+        releaseConsumed();
+    }
+
+    /**
+     * Number of records appended or recovered but not yet completed.
+     */
+    public synchronized int pendingCount() {
+        int pending = 0;
+        for (Segment segment : segments) {
+            pending += segment.pending;
+        }
+        return pending;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+        notifyAll();
+    }
+
+    private Record next() {
+        while (readSegment != null) {
+            MappedByteBuffer buffer = readSegment.buffer;
+            int length = readOffset + Integer.BYTES <= readSegment.capacity() ? buffer.getInt(readOffset) : END_OF_SEGMENT;
+            if (length == 0 && readSegment == writeSegment) {
+                return null;
+            }
+            if (length <= 0 || readOffset + HEADER_SIZE + length > readSegment.capacity()) {
+                // Sealed, torn or fully read segment: move on
+                Segment finished = readSegment;
+                finished.fullyRead = true;
+                readSegment = following(finished);
+                readOffset = 0;
+                releaseConsumed();
+                continue;
+            }
+
+            int offset = readOffset;
+            readOffset += HEADER_SIZE + length;
+            if (buffer.get(offset + 4) != STATE_PENDING) {
+                continue;
+            }
+            byte[] data = new byte[length];
+            buffer.get(offset + HEADER_SIZE, data);
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            if ((int) crc.getValue() != buffer.getInt(offset + 5)) {
+                // Torn record from a crash: nothing after it in this segment is trustworthy
+                readOffset = readSegment.capacity();
+                continue;
+            }
+            return new Record(readSegment, offset, decode(data));
+        }
+        return null;
+    }
+
+    private void releaseConsumed() {
+        while (!segments.isEmpty()) {
+            Segment head = segments.peekFirst();
+            if (head == writeSegment || !head.fullyRead || head.pending > 0) {
+                return;
+            }
+            segments.removeFirst();
+            head.deleted = true;
+            try {
+                Files.deleteIfExists(head.path);
+            } catch (IOException e) {
+                System.err.println("Failed to delete delivery log segment " + head.path + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private Segment following(Segment segment) {
+        boolean found = false;
+        for (Segment candidate : segments) {
+            if (found) {
+                return candidate;
+            }
+            found = candidate == segment;
+        }
+        return null;
+    }
+
+    private Segment newSegment(int size) throws IOException {
+        Path path = directory.resolve(String.format("segment-%010d.log", nextSegmentIndex));
+        Segment segment = Segment.create(path, nextSegmentIndex, size);
+        nextSegmentIndex++;
+        segments.addLast(segment);
+        if (readSegment == null) {
+            readSegment = segment;
+            readOffset = 0;
+        }
+        return segment;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Delivery log is closed");
+        }
+    }
+
+    private static long segmentIndex(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring("segment-".length(), name.length() - ".log".length()));
+    }
+
+    static byte[] encode(WebhookDelivery delivery) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                64 + (delivery.getBody() != null ? delivery.getBody().length : 0));
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(delivery.getEvent());
+            out.writeUTF(delivery.getVersion());
+            Map<String, String> headers = delivery.getHeaders() != null ? delivery.getHeaders() : Map.of();
+            out.writeInt(headers.size());
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeUTF(header.getValue());
+            }
+            byte[] body = delivery.getBody() != null ? delivery.getBody() : new byte[0];
+            out.writeInt(body.length);
+            out.write(body);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static WebhookDelivery decode(byte[] data) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            String event = in.readUTF();
+            String version = in.readUTF();
+            int headerCount = in.readInt();
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (int i = 0; i < headerCount; i++) {
+                headers.put(in.readUTF(), in.readUTF());
+            }
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return WebhookDelivery.builder()
+                .event(event)
+                .version(version)
+                .headers(headers)
+                .body(body)
+                .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A delivery read from the log, to be passed back to {@link #complete}.
+     */
+    public static class Record {
+        private final Segment segment;
+        private final int offset;
+        private final WebhookDelivery delivery;
+
+        private Record(Segment segment, int offset, WebhookDelivery delivery) {
+            this.segment = segment;
+            this.offset = offset;
+            this.delivery = delivery;
+        }
+
+        public WebhookDelivery getDelivery() {
+            return delivery;
+        }
+    }
+
+    private static class Segment {
+        private final Path path;
+        private final long index;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+        private int pending;
+        private boolean fullyRead;
+        private boolean deleted;
+
+        private Segment(Path path, long index, MappedByteBuffer buffer) {
+            this.path = path;
+            this.index = index;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, long index, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return new Segment(path, index, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        }
+
+        static Segment open(Path path, long index) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                Segment segment = new Segment(path, index, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+                segment.writeOffset = segment.capacity();
+                return segment;
+            }
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        void seal() {
+            if (writeOffset + Integer.BYTES <= capacity()) {
+                buffer.putInt(writeOffset, END_OF_SEGMENT);
+            }
+            writeOffset = capacity();
+        }
+
+        /**
+         * Count the readable pending records, stopping at the first torn record
+         * exactly as the reader does.
+         */
+        void countPending() {
+            int offset = 0;
+            while (offset + HEADER_SIZE <= capacity()) {
+                int length = buffer.getInt(offset);
+                if (length <= 0 || offset + HEADER_SIZE + length > capacity()) {
+                    break;
+                }
+                if (buffer.get(offset + 4) == STATE_PENDING) {
+                    byte[] data = new byte[length];
+                    buffer.get(offset + HEADER_SIZE, data);
+                    CRC32 crc = new CRC32();
+                    crc.update(data);
+                    if ((int) crc.getValue() != buffer.getInt(offset + 5)) {
+                        break;
+                    }
+                    pending++;
+                }
+                offset += HEADER_SIZE + length;
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package dev.kiket.sdk.queue;
+
+import dev.kiket.sdk.dispatch.HandlerNotFoundException;
+import dev.kiket.sdk.dispatch.OverloadedException;
+import dev.kiket.sdk.dispatch.WebhookDelivery;
+import dev.kiket.sdk.dispatch.WebhookDispatcher;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accept-and-acknowledge delivery queue. Verified deliveries are appended to a
+ * {@link DeliveryLog} and acknowledged immediately; worker threads drain the log
+ * through the {@link WebhookDispatcher} and mark each record completed once its
+ * handler has finished or exhausted its attempts. At most {@code maxPending}
+ * deliveries are kept; beyond that new deliveries are rejected with
+ * {@link OverloadedException}, which bounds the disk used by the log.
+ *
+ * <p>A single reader hands records to the workers by the handler's ordering
+ * key, so every delivery for a key goes to the same worker. A worker retries a
+ * delivery before it takes the next one, so a failed delivery is never
+ * overtaken by a later delivery for the same key. Deliveries without a key go
+ * to the worker with the shortest backlog.
+ */
+public class DeliveryQueue implements Closeable {
+    public static final int DEFAULT_WORKERS = 16;
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final int DEFAULT_MAX_PENDING = 10_000;
+
+    private static final long RETRY_BACKOFF_MS = 500;
+
+    private final DeliveryLog log;
+    private final WebhookDispatcher dispatcher;
+    private final int maxAttempts;
+    private final int maxPending;
+    private final Thread[] workers;
+    private final BlockingQueue<DeliveryLog.Record>[] stripes;
+    private Thread reader;
+    private volatile boolean running;
+
+    public DeliveryQueue(DeliveryLog log, WebhookDispatcher dispatcher, int workers, int maxAttempts) {
+        this(log, dispatcher, workers, maxAttempts, DEFAULT_MAX_PENDING);
+    }
+
+    /**
+     * @param maxPending Maximum deliveries queued and not yet completed
+     */
+    @SuppressWarnings("unchecked")
+    public DeliveryQueue(DeliveryLog log, WebhookDispatcher dispatcher, int workers, int maxAttempts, int maxPending) {
+        this.log = log;
+        this.dispatcher = dispatcher;
+        this.maxAttempts = maxAttempts;
+        this.maxPending = maxPending;
+        this.workers = new Thread[workers];
+        // Records handed to a stripe stay pending in the log, so stripes are bounded by maxPending
+        this.stripes = new BlockingQueue[workers];
+        for (int i = 0; i < workers; i++) {
+            stripes[i] = new LinkedBlockingQueue<>();
+        }
+    }
+
+    /**
+     * Start the workers. Records left pending by a previous process are processed first.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workers.length; i++) {
+            BlockingQueue<DeliveryLog.Record> stripe = stripes[i];
+            workers[i] = new Thread(() -> work(stripe), "kiket-queue-worker-" + (i + 1));
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        reader = new Thread(this::drain, "kiket-queue-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Durably enqueue a delivery for asynchronous handling. This may block
+     * on disk I/O.
+     *
+     * @throws OverloadedException if {@code maxPending} deliveries are already queued
+     */
+    public void enqueue(WebhookDelivery delivery) throws IOException {
+        // Check and append under the log's lock so concurrent requests cannot overshoot the bound
+        synchronized (log) {
+            if (log.pendingCount() >= maxPending) {
+                throw new OverloadedException(Duration.ofSeconds(1));
+            }
+            log.append(delivery);
+        }
+    }
+
+    /**
+     * Number of deliveries not yet completed.
+     */
+    public int pendingCount() {
+        return log.pendingCount();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        log.close();
+        if (reader != null) {
+            reader.interrupt();
+        }
+        for (Thread worker : workers) {
+            if (worker != null) {
+                worker.interrupt();
+            }
+        }
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                DeliveryLog.Record record = log.poll(1, TimeUnit.SECONDS);
+                if (record != null) {
+                    stripes[stripeFor(record.getDelivery())].put(record);
+                }
+            } catch (InterruptedException e) {
+                // Unfinished records stay pending and are replayed on the next start
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void work(BlockingQueue<DeliveryLog.Record> stripe) {
+        while (running) {
+            try {
+                process(stripe.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private int stripeFor(WebhookDelivery delivery) {
+        Object key = dispatcher.orderingKey(delivery);
+        if (key != null) {
+            int h = key.hashCode();
+            return Math.floorMod(h ^ (h >>> 16), stripes.length);
+        }
+        int shortest = 0;
+        for (int i = 1; i < stripes.length; i++) {
+            if (stripes[i].size() < stripes[shortest].size()) {
+                shortest = i;
+            }
+        }
+        return shortest;
+    }
+
+    private void process(DeliveryLog.Record record) throws InterruptedException {
+        WebhookDelivery delivery = record.getDelivery();
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                dispatcher.dispatch(delivery).get();
+                break;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof OverloadedException overloaded) {
+                    // Shedding is not a handler failure; wait for capacity without spending an attempt
+                    Thread.sleep(overloaded.getRetryAfter().toMillis());
+                    attempt--;
+                    continue;
+                }
+                if (e.getCause() instanceof HandlerNotFoundException || attempt == maxAttempts) {
+                    System.err.println("Dropping queued " + delivery.getEvent() + " (" + delivery.getVersion()
+                        + ") delivery after " + attempt + " attempt(s): " + e.getCause().getMessage());
+                    break;
+                }
+                Thread.sleep(RETRY_BACKOFF_MS * attempt);
+            } catch (RuntimeException e) {
+                if (attempt == maxAttempts) {
+                    System.err.println("Dropping queued " + delivery.getEvent() + " (" + delivery.getVersion()
+                        + ") delivery after " + attempt + " attempt(s): " + e.getMessage());
+                    break;
+                }
+                Thread.sleep(RETRY_BACKOFF_MS * attempt);
+            }
+        }
+        log.complete(record);
+    }
+}
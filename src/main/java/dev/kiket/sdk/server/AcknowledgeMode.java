@@ -0,0 +1,17 @@
+package dev.kiket.sdk.server;
+
+/**
+ * When a webhook delivery is acknowledged to Kiket.
+ */
+public enum AcknowledgeMode {
+    /**
+     * Respond once the handler has finished, with its result (default).
+     */
+    ON_COMPLETION,
+
+    /**
+     * Append the verified delivery to a durable local queue and respond
+     * {@code 202 Accepted} immediately; handlers run in the background.
+     */
+    ON_RECEIPT
+}
@@ -0,0 +1,17 @@
+package dev.kiket.sdk.server;
+
+/**
+ * Web stack used to serve webhook deliveries.
+ */
+public enum ServerMode {
+    /**
+     * Spring MVC on embedded Tomcat (default).
+     */
+    SERVLET,
+
+    /**
+     * Spring WebFlux on Reactor Netty, sharing the event loop used by the
+     * outbound {@code KiketClient}.
+     */
+    REACTIVE
+}
@@ -0,0 +1,128 @@
+package dev.kiket.sdk.server;
+
+import dev.kiket.sdk.auth.WebhookAuthFilter;
+import dev.kiket.sdk.dispatch.HandlerNotFoundException;
+import dev.kiket.sdk.dispatch.OverloadedException;
+import dev.kiket.sdk.dispatch.WebhookDelivery;
+import dev.kiket.sdk.dispatch.WebhookDispatcher;
+import dev.kiket.sdk.queue.DeliveryQueue;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Built-in endpoint that receives webhook deliveries and dispatches them to
+ * registered handlers.
+ *
+ * <p>Deliveries are posted to {@code /webhooks/{event}}; the event version is
+ * read from {@code X-Kiket-Event-Version} and defaults to {@code v1}. The
+ * response is completed asynchronously, so no server thread waits on the handler.
+ * With a {@link DeliveryQueue}, deliveries are instead acknowledged with
+ * {@code 202 Accepted} as soon as they are durably queued; the append runs on
+ * a bounded elastic thread so it never blocks a Netty event loop. Deliveries
+ * shed under overload, or arriving while the queue is full, are answered with
+ * {@code 429} and a {@code Retry-After} header.
+ */
+@RestController
+public class WebhookController {
+    static final String EVENT_VERSION_HEADER = "X-Kiket-Event-Version";
+    static final String DEFAULT_VERSION = "v1";
+
+    private final WebhookDispatcher dispatcher;
+    private final DeliveryQueue deliveryQueue;
+
+    public WebhookController(WebhookDispatcher dispatcher) {
+        this(dispatcher, null);
+    }
+
+    /**
+     * @param dispatcher Dispatcher running the handlers
+     * @param deliveryQueue Queue used to acknowledge on receipt, or {@code null} to respond on completion
+     */
+    public WebhookController(WebhookDispatcher dispatcher, DeliveryQueue deliveryQueue) {
+        this.dispatcher = dispatcher;
+        this.deliveryQueue = deliveryQueue;
+    }
+
+    @PostMapping(path = "/webhooks/{event}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<Object>> handle(
+        @PathVariable("event") String event,
+        @RequestHeader HttpHeaders headers,
+        @RequestAttribute(name = WebhookAuthFilter.RAW_BODY_ATTRIBUTE, required = false) byte[] body
+    ) {
+        Map<String, String> headerMap = new LinkedCaseInsensitiveMap<>();
+        headerMap.putAll(headers.toSingleValueMap());
+
+        String version = headerMap.get(EVENT_VERSION_HEADER);
+        WebhookDelivery delivery = WebhookDelivery.builder()
+            .event(event)
+            .version(version != null && !version.isBlank() ? version : DEFAULT_VERSION)
+            .headers(headerMap)
+            .body(body)
+            .build();
+
+        if (deliveryQueue != null) {
+            return Mono.fromCallable(() -> enqueue(delivery))
+                .subscribeOn(Schedulers.boundedElastic())
+                .toFuture();
+        }
+
+        CompletableFuture<Object> result;
+        try {
+            result = dispatcher.dispatch(delivery);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(errorResponse(e));
+        }
+        return result.handle((value, error) -> error == null ? ResponseEntity.ok(value) : errorResponse(error));
+    }
+
+    private ResponseEntity<Object> enqueue(WebhookDelivery delivery) {
+        if (!dispatcher.hasHandler(delivery)) {
+            return errorResponse(new HandlerNotFoundException(delivery.getEvent(), delivery.getVersion()));
+        }
+        try {
+            deliveryQueue.enqueue(delivery);
+        } catch (OverloadedException e) {
+            return errorResponse(e);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "Delivery queue unavailable"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("accepted", true));
+    }
+
+    private static ResponseEntity<Object> errorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HandlerNotFoundException) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", cause.getMessage()));
+        }
+        if (cause instanceof OverloadedException overloaded) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(overloaded.getRetryAfter().toSeconds()))
+                .body(Map.of("error", cause.getMessage()));
+        }
+        if (cause instanceof TimeoutException) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(Map.of("error", "Handler timed out"));
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "Handler capacity exhausted"));
+        }
+        String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", message));
+    }
+}
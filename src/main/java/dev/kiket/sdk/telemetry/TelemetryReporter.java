@@ -1,5 +1,6 @@
 package dev.kiket.sdk.telemetry;
 
+import dev.kiket.sdk.client.CircuitState;
 import lombok.Data;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -64,7 +65,35 @@ public class TelemetryReporter {
             .timestamp(Instant.now().toString())
             .metadata(new HashMap<>())
             .build();
+        publish(record);
+    }
+
+    /**
+     * Record a circuit breaker of an outbound API route changing state, as
+     * event {@code circuit_breaker} with the new state as status.
+     */
+    public void recordCircuitStateChange(String route, CircuitState from, CircuitState to) {
+        if (!enabled) {
+            return;
+        }
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("route", route);
+        metadata.put("from", from.name().toLowerCase());
+        metadata.put("to", to.name().toLowerCase());
+        TelemetryRecord record = TelemetryRecord.builder()
+            .event("circuit_breaker")
+            .status(to.name().toLowerCase())
+            .errorMessage(to == CircuitState.OPEN ? "Circuit opened for " + route : null)
+            .extensionId(extensionId)
+            .extensionVersion(extensionVersion)
+            .timestamp(Instant.now().toString())
+            .metadata(metadata)
+            .build();
+        publish(record);
+    }
 
+    private void publish(TelemetryRecord record) {
         // Call feedback hook
         if (feedbackHook != null) {
             try {
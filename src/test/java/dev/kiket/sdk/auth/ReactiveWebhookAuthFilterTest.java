@@ -0,0 +1,138 @@
+package dev.kiket.sdk.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveWebhookAuthFilterTest {
+
+    private final String secret = "test-secret";
+    private final ReactiveWebhookAuthFilter filter = new ReactiveWebhookAuthFilter(secret);
+
+    @Test
+    void testValidSignatureReplaysBody() throws Exception {
+        String body = "{\"test\":\"data\"}";
+        String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+        MockServerWebExchange exchange = exchange(body, generateSignature(secret, body, timestamp), timestamp);
+
+        AtomicReference<String> downstreamBody = new AtomicReference<>();
+        WebFilterChain chain = filtered -> DataBufferUtils.join(filtered.getRequest().getBody())
+            .doOnNext(buffer -> downstreamBody.set(buffer.toString(StandardCharsets.UTF_8)))
+            .then();
+
+        filter.filter(exchange, chain).block();
+
+        assertNull(exchange.getResponse().getStatusCode());
+        assertEquals(body, downstreamBody.get());
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8),
+            (byte[]) exchange.getAttribute(WebhookAuthFilter.RAW_BODY_ATTRIBUTE));
+    }
+
+    @Test
+    void testRetryOfFailedDeliveryAccepted() throws Exception {
+        ReactiveWebhookAuthFilter protectedFilter = new ReactiveWebhookAuthFilter(List.of(secret), new ReplayCache());
+        String body = "{\"test\":\"data\"}";
+        String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+        String signature = generateSignature(secret, body, timestamp);
+        AtomicInteger handled = new AtomicInteger();
+
+        MockServerWebExchange failed = exchange(body, signature, timestamp);
+        protectedFilter.filter(failed, filtered -> {
+            handled.incrementAndGet();
+            filtered.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return Mono.empty();
+        }).block();
+        MockServerWebExchange retried = exchange(body, signature, timestamp);
+        protectedFilter.filter(retried, filtered -> {
+            handled.incrementAndGet();
+            return Mono.empty();
+        }).block();
+        MockServerWebExchange replayed = exchange(body, signature, timestamp);
+        protectedFilter.filter(replayed, filtered -> fail("chain must not run")).block();
+
+        assertEquals(2, handled.get());
+        assertEquals(HttpStatus.CONFLICT, replayed.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testInvalidSignature() {
+        String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+        MockServerWebExchange exchange = exchange("{\"test\":\"data\"}", "invalid-signature", timestamp);
+
+        filter.filter(exchange, filtered -> fail("chain must not run")).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testOversizedBodyRejected() {
+        String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+        MockServerWebExchange declared = MockServerWebExchange.from(MockServerHttpRequest.post("/webhooks/test.event")
+            .header(WebhookSignatureVerifier.SIGNATURE_HEADER, "abc123")
+            .header(WebhookSignatureVerifier.TIMESTAMP_HEADER, timestamp)
+            .contentLength(Integer.MAX_VALUE + 1L)
+            .body("{}"));
+        // Without a declared length the limit is only hit while streaming
+        byte[] chunk = new byte[1024 * 1024];
+        MockServerWebExchange streamed = MockServerWebExchange.from(MockServerHttpRequest.post("/webhooks/test.event")
+            .header(WebhookSignatureVerifier.SIGNATURE_HEADER, "abc123")
+            .header(WebhookSignatureVerifier.TIMESTAMP_HEADER, timestamp)
+            .body(Flux.range(0, WebhookAuthFilter.MAX_BODY_SIZE / chunk.length + 1)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(chunk))));
+
+        filter.filter(declared, filtered -> fail("chain must not run")).block();
+        filter.filter(streamed, filtered -> fail("chain must not run")).block();
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, declared.getResponse().getStatusCode());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, streamed.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testNonWebhookEndpoint() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/health"));
+        AtomicReference<Boolean> called = new AtomicReference<>(false);
+
+        filter.filter(exchange, filtered -> {
+            called.set(true);
+            return Mono.empty();
+        }).block();
+
+        assertTrue(called.get());
+    }
+
+    private static MockServerWebExchange exchange(String body, String signature, String timestamp) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/webhooks/test.event")
+            .header(WebhookSignatureVerifier.SIGNATURE_HEADER, signature)
+            .header(WebhookSignatureVerifier.TIMESTAMP_HEADER, timestamp)
+            .body(body));
+    }
+
+    private String generateSignature(String key, String body, String timestamp) throws Exception {
+        String payload = timestamp + "." + body;
+        Mac mac = Mac.getInstance("HmacSHA256");
+        SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(), "HmacSHA256");
+        mac.init(secretKeySpec);
+        byte[] hmac = mac.doFinal(payload.getBytes());
+
+        StringBuilder result = new StringBuilder();
+        for (byte b : hmac) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+}
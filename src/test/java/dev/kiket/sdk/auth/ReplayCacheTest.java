@@ -0,0 +1,43 @@
+package dev.kiket.sdk.auth;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayCacheTest {
+
+    @Test
+    void testDuplicateIsDetected() {
+        ReplayCache cache = new ReplayCache(1000, 10);
+
+        assertTrue(cache.markSeen(1_700_000_000L, 42L));
+        assertFalse(cache.markSeen(1_700_000_000L, 42L));
+        assertTrue(cache.markSeen(1_700_000_001L, 42L));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void testBucketIsReusedForLaterSecond() {
+        ReplayCache cache = new ReplayCache(1000, 10);
+
+        assertTrue(cache.markSeen(100L, 7L));
+        // 121 maps to the same slot in a ring of 21 buckets; the old second is discarded
+        assertTrue(cache.markSeen(121L, 7L));
+        assertTrue(cache.markSeen(100L, 7L));
+    }
+
+    @Test
+    void testFullBucketEvictsOldestEntry() {
+        ReplayCache cache = new ReplayCache(21 * 2, 10);
+
+        cache.markSeen(100L, 1L);
+        cache.markSeen(100L, 2L);
+        cache.markSeen(100L, 3L);
+
+        assertEquals(1, cache.getEvictions());
+        assertFalse(cache.markSeen(100L, 3L));
+        assertTrue(cache.markSeen(100L, 1L));
+    }
+}
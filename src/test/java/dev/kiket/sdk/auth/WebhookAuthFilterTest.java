@@ -1,21 +1,33 @@
 package dev.kiket.sdk.auth;
 
 import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.DelegatingServletInputStream;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintWriter;
-import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class WebhookAuthFilterTest {
@@ -47,12 +59,156 @@ class WebhookAuthFilterTest {
         when(request.getRequestURI()).thenReturn("/webhooks/test.event");
         when(request.getHeader("X-Kiket-Signature")).thenReturn(signature);
         when(request.getHeader("X-Kiket-Timestamp")).thenReturn(String.valueOf(timestamp));
-        when(request.getReader()).thenReturn(new BufferedReader(new StringReader(body)));
+        stubBody(body);
 
         filter.doFilter(request, response, filterChain);
 
-        verify(filterChain).doFilter(request, response);
+        verify(filterChain).doFilter(any(HttpServletRequest.class), eq(response));
+        verify(response, never()).setStatus(anyInt());
+    }
+
+    @Test
+    void testMultiLineBodyIsVerifiedAndReplayed() throws Exception {
+        String body = "{\n  \"test\": \"data\"\n}\n";
+        long timestamp = System.currentTimeMillis() / 1000;
+        String signature = generateSignature(secret, body, String.valueOf(timestamp));
+
+        when(request.getRequestURI()).thenReturn("/webhooks/test.event");
+        when(request.getHeader("X-Kiket-Signature")).thenReturn(signature);
+        when(request.getHeader("X-Kiket-Timestamp")).thenReturn(String.valueOf(timestamp));
+        stubBody(body);
+
+        filter.doFilter(request, response, filterChain);
+
+        ArgumentCaptor<HttpServletRequest> forwarded = ArgumentCaptor.forClass(HttpServletRequest.class);
+        verify(filterChain).doFilter(forwarded.capture(), eq(response));
         verify(response, never()).setStatus(anyInt());
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), forwarded.getValue().getInputStream().readAllBytes());
+        verify(request).setAttribute(WebhookAuthFilter.RAW_BODY_ATTRIBUTE, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testForwardedBodySupportsAsyncReads() throws Exception {
+        String body = "{\"test\":\"data\"}";
+        long timestamp = System.currentTimeMillis() / 1000;
+        String signature = generateSignature(secret, body, String.valueOf(timestamp));
+
+        when(request.getRequestURI()).thenReturn("/webhooks/test.event");
+        when(request.getHeader("X-Kiket-Signature")).thenReturn(signature);
+        when(request.getHeader("X-Kiket-Timestamp")).thenReturn(String.valueOf(timestamp));
+        stubBody(body);
+
+        filter.doFilter(request, response, filterChain);
+
+        ArgumentCaptor<HttpServletRequest> forwarded = ArgumentCaptor.forClass(HttpServletRequest.class);
+        verify(filterChain).doFilter(forwarded.capture(), eq(response));
+        ServletInputStream input = forwarded.getValue().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] allRead = {false};
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[4];
+                while (input.isReady() && !input.isFinished()) {
+                    read.write(buffer, 0, input.read(buffer));
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                fail(error);
+            }
+        });
+
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), read.toByteArray());
+        assertTrue(allRead[0]);
+    }
+
+    @Test
+    void testReplayedDeliveryRejected() throws Exception {
+        filter = new WebhookAuthFilter(List.of(secret), new ReplayCache());
+        String body = "{\"test\":\"data\"}";
+        long timestamp = System.currentTimeMillis() / 1000;
+        String signature = generateSignature(secret, body, String.valueOf(timestamp));
+
+        when(request.getRequestURI()).thenReturn("/webhooks/test.event");
+        when(request.getHeader("X-Kiket-Signature")).thenReturn(signature);
+        when(request.getHeader("X-Kiket-Timestamp")).thenReturn(String.valueOf(timestamp));
+        when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+        when(response.getStatus()).thenReturn(HttpServletResponse.SC_OK);
+
+        stubBody(body);
+        filter.doFilter(request, response, filterChain);
+        stubBody(body);
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain, times(1)).doFilter(any(HttpServletRequest.class), eq(response));
+        verify(response).setStatus(HttpServletResponse.SC_CONFLICT);
+    }
+
+    @Test
+    void testRetryOfFailedDeliveryAccepted() throws Exception {
+        filter = new WebhookAuthFilter(List.of(secret), new ReplayCache());
+        String body = "{\"test\":\"data\"}";
+        long timestamp = System.currentTimeMillis() / 1000;
+        String signature = generateSignature(secret, body, String.valueOf(timestamp));
+
+        when(request.getRequestURI()).thenReturn("/webhooks/test.event");
+        when(request.getHeader("X-Kiket-Signature")).thenReturn(signature);
+        when(request.getHeader("X-Kiket-Timestamp")).thenReturn(String.valueOf(timestamp));
+        when(response.getStatus()).thenReturn(HttpServletResponse.SC_SERVICE_UNAVAILABLE, HttpServletResponse.SC_OK);
+
+        stubBody(body);
+        filter.doFilter(request, response, filterChain);
+        stubBody(body);
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain, times(2)).doFilter(any(HttpServletRequest.class), eq(response));
+        verify(response, never()).setStatus(HttpServletResponse.SC_CONFLICT);
+    }
+
+    @Test
+    void testOversizedBodyRejected() throws Exception {
+        long timestamp = System.currentTimeMillis() / 1000;
+        when(request.getRequestURI()).thenReturn("/webhooks/test.event");
+        when(request.getHeader("X-Kiket-Signature")).thenReturn("abc123");
+        when(request.getHeader("X-Kiket-Timestamp")).thenReturn(String.valueOf(timestamp));
+        when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+        // No declared length, so the limit is only hit while streaming
+        when(request.getContentLength()).thenReturn(-1);
+        when(request.getInputStream()).thenReturn(new DelegatingServletInputStream(
+            new ByteArrayInputStream(new byte[WebhookAuthFilter.MAX_BODY_SIZE + 1])));
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(response).setStatus(413);
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void testDeclaredLengthDoesNotSizeTheBuffer() throws Exception {
+        String body = "{\"test\":\"data\"}";
+        long timestamp = System.currentTimeMillis() / 1000;
+        String signature = generateSignature(secret, body, String.valueOf(timestamp));
+
+        when(request.getRequestURI()).thenReturn("/webhooks/test.event");
+        when(request.getHeader("X-Kiket-Signature")).thenReturn(signature);
+        when(request.getHeader("X-Kiket-Timestamp")).thenReturn(String.valueOf(timestamp));
+        stubBody(body);
+        // A client may claim a large body and send a small one
+        when(request.getContentLength()).thenReturn(WebhookAuthFilter.MAX_BODY_SIZE);
+
+        filter.doFilter(request, response, filterChain);
+
+        ArgumentCaptor<byte[]> cached = ArgumentCaptor.forClass(byte[].class);
+        verify(request).setAttribute(eq(WebhookAuthFilter.RAW_BODY_ATTRIBUTE), cached.capture());
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), cached.getValue());
+        verify(filterChain).doFilter(any(HttpServletRequest.class), eq(response));
     }
 
     @Test
@@ -93,7 +249,7 @@ class WebhookAuthFilterTest {
         when(request.getRequestURI()).thenReturn("/webhooks/test.event");
         when(request.getHeader("X-Kiket-Signature")).thenReturn("invalid-signature");
         when(request.getHeader("X-Kiket-Timestamp")).thenReturn(String.valueOf(timestamp));
-        when(request.getReader()).thenReturn(new BufferedReader(new StringReader(body)));
+        stubBody(body);
 
         StringWriter stringWriter = new StringWriter();
         when(response.getWriter()).thenReturn(new PrintWriter(stringWriter));
@@ -113,7 +269,7 @@ class WebhookAuthFilterTest {
         when(request.getRequestURI()).thenReturn("/webhooks/test.event");
         when(request.getHeader("X-Kiket-Signature")).thenReturn(signature);
         when(request.getHeader("X-Kiket-Timestamp")).thenReturn(String.valueOf(timestamp));
-        when(request.getReader()).thenReturn(new BufferedReader(new StringReader(body)));
+        stubBody(body);
 
         StringWriter stringWriter = new StringWriter();
         when(response.getWriter()).thenReturn(new PrintWriter(stringWriter));
@@ -134,12 +290,18 @@ class WebhookAuthFilterTest {
         verify(response, never()).setStatus(anyInt());
     }
 
+    private void stubBody(String body) throws Exception {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        when(request.getContentLength()).thenReturn(bytes.length);
+        when(request.getInputStream()).thenReturn(new DelegatingServletInputStream(new ByteArrayInputStream(bytes)));
+    }
+
     private String generateSignature(String key, String body, String timestamp) throws Exception {
         String payload = timestamp + "." + body;
         Mac mac = Mac.getInstance("HmacSHA256");
         SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(), "HmacSHA256");
         mac.init(secretKeySpec);
-        byte[] hmac = mac.doFinal(payload.getBytes());
+        byte[] hmac = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
 
         StringBuilder result = new StringBuilder();
         for (byte b : hmac) {
@@ -0,0 +1,95 @@
+package dev.kiket.sdk.auth;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookSignatureVerifierTest {
+
+    private final WebhookSignatureVerifier verifier = new WebhookSignatureVerifier("test-secret");
+
+    @Test
+    void testPooledMacsProduceConsistentResults() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            String body = "{\"attempt\":" + i + "}";
+            assertNull(verify(sign("test-secret", "1700000000", body), "1700000000", body));
+        }
+    }
+
+    @Test
+    void testUppercaseHexSignatureAccepted() throws Exception {
+        String body = "{\"test\":\"data\"}";
+        String signature = sign("test-secret", "1700000000", body).toUpperCase();
+
+        assertNull(verify(signature, "1700000000", body));
+    }
+
+    @Test
+    void testMalformedSignatureRejected() {
+        assertEquals(WebhookSignatureVerifier.Failure.INVALID_SIGNATURE, verify("zz", "1700000000", "{}"));
+        assertEquals(WebhookSignatureVerifier.Failure.INVALID_SIGNATURE, verify("abc", "1700000000", "{}"));
+    }
+
+    @Test
+    void testMissingSecretFailsVerification() {
+        WebhookSignatureVerifier unconfigured = new WebhookSignatureVerifier((String) null);
+        WebhookSignatureVerifier.Verification verification = unconfigured.begin("1700000000", null);
+
+        assertEquals(WebhookSignatureVerifier.Failure.VERIFICATION_ERROR, verification.finish("00", new byte[0]));
+    }
+
+    @Test
+    void testRotatedSecretsAreAccepted() throws Exception {
+        WebhookSignatureVerifier rotating = new WebhookSignatureVerifier(List.of("new-secret", "old-secret"));
+        String body = "{\"test\":\"data\"}";
+
+        assertNull(verify(rotating, sign("old-secret", "1700000000", body), null, body));
+        assertNull(verify(rotating, sign("new-secret", "1700000000", body), null, body));
+        assertEquals(WebhookSignatureVerifier.Failure.INVALID_SIGNATURE,
+            verify(rotating, sign("retired-secret", "1700000000", body), null, body));
+    }
+
+    @Test
+    void testKeyIdHintSelectsKey() throws Exception {
+        WebhookSignatureVerifier rotating = new WebhookSignatureVerifier(List.of("new-secret", "old-secret"));
+        String body = "{}";
+
+        assertNull(verify(rotating, sign("old-secret", "1700000000", body), HmacKey.fingerprint("old-secret"), body));
+        assertEquals(8, HmacKey.fingerprint("old-secret").length());
+    }
+
+    @Test
+    void testDecodeHex() {
+        assertArrayEquals(new byte[]{0x0f, (byte) 0xa0}, WebhookSignatureVerifier.decodeHex("0fA0"));
+        assertNull(WebhookSignatureVerifier.decodeHex("0g"));
+    }
+
+    private WebhookSignatureVerifier.Failure verify(String signature, String timestamp, String body) {
+        return verify(verifier, signature, null, body, timestamp);
+    }
+
+    private static WebhookSignatureVerifier.Failure verify(
+        WebhookSignatureVerifier verifier, String signature, String keyId, String body) {
+        return verify(verifier, signature, keyId, body, "1700000000");
+    }
+
+    private static WebhookSignatureVerifier.Failure verify(
+        WebhookSignatureVerifier verifier, String signature, String keyId, String body, String timestamp) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        WebhookSignatureVerifier.Verification verification = verifier.begin(timestamp, keyId);
+        verification.update(bytes, 0, bytes.length);
+        return verification.finish(signature, bytes);
+    }
+
+    private static String sign(String key, String timestamp, String body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal((timestamp + "." + body).getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,123 @@
+package dev.kiket.sdk.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<String> transitions = new ArrayList<>();
+    private final CircuitBreaker breaker = new CircuitBreaker(
+        "/ext/custom_data/{module}/{table}",
+        CircuitBreakerOptions.builder()
+            .windowSize(10)
+            .minimumCalls(4)
+            .failureRateThreshold(0.5)
+            .slowCallDuration(Duration.ofSeconds(1))
+            .slowCallRateThreshold(0.5)
+            .openDuration(Duration.ofSeconds(5))
+            .halfOpenProbes(2)
+            .build(),
+        (route, from, to) -> transitions.add(from + "->" + to),
+        now::get);
+
+    @Test
+    void opensOnceFailureRateReachesThreshold() {
+        complete(false);
+        complete(true);
+        complete(false);
+        assertEquals(CircuitState.CLOSED, breaker.state());
+
+        complete(true);
+
+        assertEquals(CircuitState.OPEN, breaker.state());
+        assertEquals(-1, breaker.tryAcquire());
+        assertEquals(1, breaker.metrics().getRejectedCalls());
+        assertEquals(List.of("CLOSED->OPEN"), transitions);
+    }
+
+    @Test
+    void opensOnSlowCalls() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onComplete(breaker.tryAcquire(), false, TimeUnit.SECONDS.toNanos(2));
+        }
+
+        assertEquals(CircuitState.OPEN, breaker.state());
+    }
+
+    @Test
+    void closesAfterSuccessfulProbes() {
+        open();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        long first = breaker.tryAcquire();
+        long second = breaker.tryAcquire();
+        assertEquals(CircuitState.HALF_OPEN, breaker.state());
+        assertEquals(-1, breaker.tryAcquire());
+
+        breaker.onComplete(first, false, FAST);
+        breaker.onComplete(second, false, FAST);
+
+        assertEquals(CircuitState.CLOSED, breaker.state());
+        assertEquals(0, breaker.metrics().getBufferedCalls());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void reopensWhenProbeFails() {
+        open();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        breaker.onComplete(breaker.tryAcquire(), true, FAST);
+
+        assertEquals(CircuitState.OPEN, breaker.state());
+        assertEquals(Duration.ofSeconds(5), breaker.retryAfter());
+    }
+
+    @Test
+    void ignoresCallsStartedBeforeTransition() {
+        long stale = breaker.tryAcquire();
+        open();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        long probe = breaker.tryAcquire();
+
+        breaker.onComplete(stale, true, FAST);
+        assertEquals(CircuitState.HALF_OPEN, breaker.state());
+
+        breaker.onCancel(probe, FAST);
+        breaker.tryAcquire();
+        assertNotEquals(-1, breaker.tryAcquire());
+    }
+
+    @Test
+    void mapsPathsToRouteTemplates() {
+        assertEquals("/ext/custom_data/{module}/{table}",
+            RouteTemplates.template("/ext/custom_data/crm/contacts?project_id=1"));
+        assertEquals("/ext/custom_data/{module}/{table}/{id}",
+            RouteTemplates.template("/ext/custom_data/crm/contacts/42?project_id=1"));
+        assertEquals("/extensions/{extension}/secrets/{key}",
+            RouteTemplates.template("/extensions/ext-1/secrets/API_TOKEN"));
+        assertEquals("/api/v2/issues/{id}/comments",
+            RouteTemplates.template("/api/v2/issues/123/comments"));
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            complete(true);
+        }
+        assertEquals(CircuitState.OPEN, breaker.state());
+    }
+
+    private void complete(boolean failed) {
+        breaker.onComplete(breaker.tryAcquire(), failed, FAST);
+    }
+}
@@ -0,0 +1,125 @@
+package dev.kiket.sdk.client;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingTest {
+
+    @Test
+    void sendsHedgeWhenResponseIsSlowAndCancelsLoser() {
+        Hedging hedging = new Hedging(options(1, 10));
+        warmUp(hedging, 5);
+
+        AtomicInteger calls = new AtomicInteger();
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        String result = hedging.hedge("/ext/custom_data/crm/contacts/1", () -> calls.incrementAndGet() == 1
+            ? Mono.<String>never().doOnCancel(() -> primaryCancelled.set(true))
+            : Mono.just("hedge")).block(Duration.ofSeconds(5));
+
+        assertEquals("hedge", result);
+        assertEquals(2, calls.get());
+        assertTrue(primaryCancelled.get());
+        assertEquals(1, hedging.hedged());
+    }
+
+    @Test
+    void doesNotHedgeUntilEnoughSamples() {
+        Hedging hedging = new Hedging(options(100, 10));
+        warmUp(hedging, 5);
+
+        AtomicInteger calls = new AtomicInteger();
+        String result = hedging.hedge("/ext/custom_data/crm/contacts/1", () -> {
+            calls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(50)).thenReturn("primary");
+        }).block(Duration.ofSeconds(5));
+
+        assertEquals("primary", result);
+        assertEquals(1, calls.get());
+        assertEquals(0, hedging.hedged());
+    }
+
+    @Test
+    void capsHedgesWithBudget() {
+        Hedging hedging = new Hedging(options(1, 1));
+        warmUp(hedging, 5);
+
+        for (int i = 0; i < 3; i++) {
+            hedging.hedge("/ext/custom_data/crm/contacts/1",
+                () -> Mono.delay(Duration.ofMillis(30)).thenReturn("slow")).block(Duration.ofSeconds(5));
+        }
+
+        // One hedge from the initial capacity; 8 requests at 5% have not earned another
+        assertEquals(1, hedging.hedged());
+    }
+
+    @Test
+    void ignoresFailedHedge() {
+        Hedging hedging = new Hedging(options(1, 10));
+        warmUp(hedging, 5);
+
+        AtomicInteger calls = new AtomicInteger();
+        String result = hedging.hedge("/ext/custom_data/crm/contacts/1", () -> calls.incrementAndGet() == 1
+            ? Mono.delay(Duration.ofMillis(50)).thenReturn("primary")
+            : Mono.error(new IllegalStateException("hedge failed"))).block(Duration.ofSeconds(5));
+
+        assertEquals("primary", result);
+    }
+
+    @Test
+    void countsFailedAttemptsAsLatencySamples() {
+        Hedging hedging = new Hedging(options(3, 10));
+        for (int i = 0; i < 3; i++) {
+            Mono<String> failed = hedging.hedge("/ext/custom_data/crm/contacts/1",
+                () -> Mono.delay(Duration.ofMillis(20)).then(Mono.error(new IllegalStateException("503"))));
+            assertThrows(IllegalStateException.class, () -> failed.block(Duration.ofSeconds(5)));
+        }
+
+        AtomicInteger calls = new AtomicInteger();
+        String result = hedging.hedge("/ext/custom_data/crm/contacts/1", () -> calls.incrementAndGet() == 1
+            ? Mono.<String>never()
+            : Mono.just("hedge")).block(Duration.ofSeconds(5));
+
+        // The failures alone reached minSamples, so the stuck request was hedged
+        assertEquals("hedge", result);
+        assertEquals(1, hedging.hedged());
+    }
+
+    @Test
+    void reportsLatencyPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(500));
+        }
+
+        long p50 = histogram.percentile(0.5);
+        long p99 = histogram.percentile(0.99);
+        assertTrue(p50 >= TimeUnit.MILLISECONDS.toNanos(1) && p50 < TimeUnit.MILLISECONDS.toNanos(2), "p50 " + p50);
+        assertTrue(p99 >= TimeUnit.MILLISECONDS.toNanos(500) && p99 < TimeUnit.MILLISECONDS.toNanos(700), "p99 " + p99);
+    }
+
+    private static HedgingOptions options(int minSamples, int budgetCapacity) {
+        return HedgingOptions.builder()
+            .enabled(true)
+            .percentile(0.5)
+            .minSamples(minSamples)
+            .budgetCapacity(budgetCapacity)
+            .minDelay(Duration.ofMillis(1))
+            .build();
+    }
+
+    private static void warmUp(Hedging hedging, int requests) {
+        for (int i = 0; i < requests; i++) {
+            hedging.hedge("/ext/custom_data/crm/contacts/1", () -> Mono.just("fast")).block();
+        }
+    }
+}
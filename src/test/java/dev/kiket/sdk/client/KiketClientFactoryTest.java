@@ -0,0 +1,131 @@
+package dev.kiket.sdk.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KiketClientFactoryTest {
+
+    private KiketClientFactory factory;
+
+    @AfterEach
+    void tearDown() {
+        if (factory != null) {
+            factory.close();
+        }
+    }
+
+    @Test
+    void cachesClientPerIdentity() {
+        factory = new KiketClientFactory("https://kiket.test");
+
+        KiketClient first = factory.client("wk_a", "v1", "key");
+
+        assertSame(first, factory.client("wk_a", "v1", "key"));
+        assertNotSame(first, factory.client("wk_a", "v2", "key"));
+        assertNotSame(first, factory.client("wk_b", "v1", "key"));
+        assertNotSame(first, factory.client("wk_a", "v1", null));
+        assertEquals(4, factory.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedClient() {
+        factory = new KiketClientFactory("https://kiket.test", 2);
+        KiketClient a = factory.client("wk_a", "v1", null);
+        factory.client("wk_b", "v1", null);
+
+        factory.client("wk_a", "v1", null);
+        factory.client("wk_c", "v1", null);
+
+        assertEquals(2, factory.size());
+        assertSame(a, factory.client("wk_a", "v1", null));
+    }
+
+    @Test
+    void sharesRateLimitAcrossEventVersionsAndEviction() {
+        factory = new KiketClientFactory("https://kiket.test", 1);
+        factory.client("wk_a", "v1", "key").updateRateLimit(100, 40, 30, 60);
+
+        assertEquals(40, factory.client("wk_a", "v2", "key").getRateLimitStatus().getRemaining());
+        assertEquals(40, factory.client("wk_a", "v1", "key").getRateLimitStatus().getRemaining());
+        assertNull(factory.client("wk_b", "v1", "key").getRateLimitStatus());
+        assertNull(factory.client("wk_a", "v1", null).getRateLimitStatus());
+    }
+
+    @Test
+    void boundsRateLimitersByMaxClients() {
+        factory = new KiketClientFactory("https://kiket.test", 2);
+
+        for (int i = 0; i < 10; i++) {
+            factory.client("wk_" + i, "v1", "key");
+        }
+
+        assertEquals(2, factory.size());
+        assertEquals(2, factory.rateLimiterCount());
+    }
+
+    @Test
+    void reportsPoolMetricsForSharedConnections() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ping", exchange -> {
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            factory = new KiketClientFactory("http://127.0.0.1:" + server.getAddress().getPort(),
+                ClientOptions.builder().maxConnections(4).connectTimeout(Duration.ofSeconds(2)).build(), 16);
+
+            factory.client("wk_a", "v1", null).get("/ping", Map.class).block();
+            factory.client("wk_b", "v1", null).get("/ping", Map.class).block();
+
+            PoolMetrics metrics = factory.poolMetrics();
+            assertEquals(0, metrics.getPending());
+            assertEquals(4, metrics.getMaxAllocated());
+            assertTrue(metrics.getAllocated() >= 1);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void http2OverPlainTextUpgradesAndFallsBackToHttp11() throws Exception {
+        AtomicReference<String> upgrade = new AtomicReference<>();
+        AtomicReference<String> protocol = new AtomicReference<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ping", exchange -> {
+            upgrade.set(exchange.getRequestHeaders().getFirst("Upgrade"));
+            protocol.set(exchange.getProtocol());
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            factory = new KiketClientFactory("http://127.0.0.1:" + server.getAddress().getPort(),
+                ClientOptions.builder().http2(true).connectTimeout(Duration.ofSeconds(2)).build(), 16);
+
+            Map<?, ?> response = factory.client("wk_a", "v1", null).get("/ping", Map.class).block();
+
+            // The server only speaks HTTP/1.1, so the h2c upgrade is declined and the request still succeeds
+            assertEquals(true, response.get("ok"));
+            assertEquals("h2c", upgrade.get());
+            assertEquals("HTTP/1.1", protocol.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+}
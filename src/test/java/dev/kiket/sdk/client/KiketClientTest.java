@@ -0,0 +1,354 @@
+package dev.kiket.sdk.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KiketClientTest {
+
+    private static final RetryPolicy FAST_RETRY = RetryPolicy.builder()
+        .baseDelay(Duration.ofMillis(1))
+        .maxDelay(Duration.ofMillis(5))
+        .build();
+
+    private HttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void requestsAfterDeadlineFailWithoutBeingSent() {
+        KiketClient client = new KiketClient("http://127.0.0.1:9", "wk_test", "v1")
+            .withDeadline(Instant.now().minusSeconds(1));
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+            () -> client.get("/api/v1/ext/rate_limit", Map.class).block());
+        assertInstanceOf(TimeoutException.class, error.getCause());
+    }
+
+    @Test
+    void retriesTransientFailuresOfGet() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        String baseUrl = serve(calls, null, attempt -> attempt < 3 ? 503 : 200, "0");
+
+        Map<?, ?> result = client(baseUrl, FAST_RETRY).get("/test", Map.class).block();
+
+        assertEquals(true, result.get("ok"));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void reusesIdempotencyKeyAcrossPostRetries() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        List<String> keys = new CopyOnWriteArrayList<>();
+        String baseUrl = serve(calls, keys, attempt -> attempt < 2 ? 502 : 200, null);
+
+        client(baseUrl, FAST_RETRY).post("/test", Map.of("a", 1), Map.class).block();
+
+        assertEquals(2, keys.size());
+        assertNotNull(keys.get(0));
+        assertEquals(keys.get(0), keys.get(1));
+    }
+
+    @Test
+    void generatesNewIdempotencyKeyPerSubscription() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        List<String> keys = new CopyOnWriteArrayList<>();
+        String baseUrl = serve(calls, keys, attempt -> 200, null);
+
+        Mono<Map> post = client(baseUrl, FAST_RETRY).post("/test", Map.of("a", 1), Map.class);
+        post.block();
+        post.block();
+
+        assertEquals(2, keys.size());
+        assertNotEquals(keys.get(0), keys.get(1));
+    }
+
+    @Test
+    void doesNotRetryPatchAfterServerError() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        String baseUrl = serve(calls, null, attempt -> 503, null);
+
+        KiketClient client = client(baseUrl, FAST_RETRY);
+        assertThrows(WebClientResponseException.class,
+            () -> client.patch("/test", Map.of("a", 1), Map.class).block());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void failsWhenRetryAfterExceedsLimit() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        String baseUrl = serve(calls, null, attempt -> 429, "120");
+
+        KiketClient client = client(baseUrl, FAST_RETRY);
+        assertThrows(WebClientResponseException.class, () -> client.get("/test", Map.class).block());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void stopsRetryingWhenBudgetIsSpent() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        String baseUrl = serve(calls, null, attempt -> 503, null);
+        RetryPolicy policy = RetryPolicy.builder()
+            .baseDelay(Duration.ofMillis(1))
+            .maxDelay(Duration.ofMillis(5))
+            .budgetCapacity(2)
+            .budgetRatio(0)
+            .build();
+        KiketClient client = client(baseUrl, policy);
+
+        assertThrows(WebClientResponseException.class, () -> client.get("/test", Map.class).block());
+        assertEquals(3, calls.get());
+
+        assertThrows(WebClientResponseException.class, () -> client.get("/test", Map.class).block());
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void failsFastOnceRateLimitIsExhausted() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/test", exchange -> {
+            calls.incrementAndGet();
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add(RateLimiter.LIMIT_HEADER, "100");
+            exchange.getResponseHeaders().add(RateLimiter.REMAINING_HEADER, "0");
+            exchange.getResponseHeaders().add(RateLimiter.RESET_HEADER, "30");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        ClientOptions options = ClientOptions.builder().rateLimitMode(RateLimitMode.FAIL_FAST).build();
+        KiketClient client = new KiketClient(
+            KiketClient.webClientBuilder("http://127.0.0.1:" + server.getAddress().getPort()).build(),
+            "wk_test", "v1", null, options, new RateLimiter(), new CircuitBreakers(CircuitBreakerOptions.disabled()), null, null);
+
+        client.get("/test", Map.class).block();
+        assertEquals(0, client.getRateLimitStatus().getRemaining());
+
+        RateLimitExceededException error = assertThrows(RateLimitExceededException.class,
+            () -> client.get("/test", Map.class).block());
+        assertTrue(error.getRetryAfter().toSeconds() >= 29);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void failsFastWhileRouteCircuitIsOpen() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        String baseUrl = serve(calls, null, attempt -> 500, null);
+        CircuitBreakers breakers = new CircuitBreakers(CircuitBreakerOptions.builder().minimumCalls(2).build());
+        KiketClient client = new KiketClient(KiketClient.webClientBuilder(baseUrl).build(), "wk_test", "v1", null,
+            ClientOptions.builder().retry(RetryPolicy.disabled()).build(), new RateLimiter(), breakers, null, null);
+
+        assertThrows(WebClientResponseException.class, () -> client.get("/test", Map.class).block());
+        assertThrows(WebClientResponseException.class, () -> client.get("/test", Map.class).block());
+
+        CircuitOpenException error = assertThrows(CircuitOpenException.class,
+            () -> client.get("/test", Map.class).block());
+        assertEquals("/test", error.getRoute());
+        assertEquals(2, calls.get());
+        assertEquals(CircuitState.OPEN, breakers.metrics().get("/test").getState());
+    }
+
+    @Test
+    void coalescesConcurrentIdenticalGets() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/test", exchange -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        KiketClient client = client("http://127.0.0.1:" + server.getAddress().getPort(), FAST_RETRY);
+
+        List<CompletableFuture<Map>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(client.get("/test", Map.class).toFuture());
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (CompletableFuture<Map> result : results) {
+            assertEquals(true, result.get(5, TimeUnit.SECONDS).get("ok"));
+        }
+        assertEquals(1, calls.get());
+        // Each caller gets its own decoded object, so one caller's changes are not seen by another
+        assertNotSame(results.get(0).get(), results.get(1).get());
+
+        client.get("/test", Map.class).block();
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void revalidatesCachedResponsesAndInvalidatesOnWrite() throws IOException {
+        AtomicInteger fullResponses = new AtomicInteger();
+        AtomicInteger notModified = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/extensions/ext-1", exchange -> {
+            if ("PUT".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(204, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            fullResponses.incrementAndGet();
+            byte[] body = "{\"name\":\"ext\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        ResponseCacheOptions cacheOptions = ResponseCacheOptions.enabled();
+        KiketClient client = new KiketClient(
+            KiketClient.webClientBuilder("http://127.0.0.1:" + server.getAddress().getPort()).build(),
+            "wk_test", "v1", null, ClientOptions.builder().responseCache(cacheOptions).build(),
+            new RateLimiter(), new CircuitBreakers(CircuitBreakerOptions.disabled()), new ResponseCache(cacheOptions), null);
+
+        assertEquals("ext", client.get("/extensions/ext-1", Map.class).block().get("name"));
+        assertEquals("ext", client.get("/extensions/ext-1", Map.class).block().get("name"));
+        assertEquals(1, fullResponses.get());
+        assertEquals(1, notModified.get());
+
+        client.put("/extensions/ext-1", Map.of("name", "renamed"), Void.class).block();
+        client.get("/extensions/ext-1", Map.class).block();
+        assertEquals(2, fullResponses.get());
+    }
+
+    @Test
+    void successfulPostInvalidatesCachedCollection() throws IOException {
+        AtomicInteger lists = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ext/custom_data/crm/contacts", exchange -> {
+            byte[] body;
+            int status;
+            if ("POST".equals(exchange.getRequestMethod())) {
+                body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+                status = 201;
+            } else {
+                body = ("{\"count\":" + lists.getAndIncrement() + "}").getBytes(StandardCharsets.UTF_8);
+                status = 200;
+                exchange.getResponseHeaders().add("Cache-Control", "max-age=60");
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        ResponseCacheOptions cacheOptions = ResponseCacheOptions.enabled();
+        KiketClient client = new KiketClient(
+            KiketClient.webClientBuilder("http://127.0.0.1:" + server.getAddress().getPort()).build(),
+            "wk_test", "v1", null, ClientOptions.builder().responseCache(cacheOptions).build(),
+            new RateLimiter(), new CircuitBreakers(CircuitBreakerOptions.disabled()), new ResponseCache(cacheOptions), null);
+        String path = "/ext/custom_data/crm/contacts?project_id=1";
+
+        assertEquals(0, client.get(path, Map.class).block().get("count"));
+        assertEquals(0, client.get(path, Map.class).block().get("count"));
+
+        client.post("/ext/custom_data/crm/contacts?project_id=1", Map.of("record", Map.of()), Map.class).block();
+        assertEquals(1, client.get(path, Map.class).block().get("count"));
+    }
+
+    @Test
+    void classifiesRetryableFailures() {
+        WebClientResponseException unavailable = WebClientResponseException.create(503, "", null, null, null);
+        WebClientResponseException tooMany = WebClientResponseException.create(429, "", null, null, null);
+        WebClientResponseException badRequest = WebClientResponseException.create(400, "", null, null, null);
+        WebClientResponseException internal = WebClientResponseException.create(500, "", null, null, null);
+        WebClientResponseException timedOut = WebClientResponseException.create(408, "", null, null, null);
+
+        assertTrue(RequestRetry.isRetryable(HttpMethod.GET, unavailable));
+        assertTrue(RequestRetry.isRetryable(HttpMethod.POST, unavailable));
+        assertTrue(RequestRetry.isRetryable(HttpMethod.PATCH, tooMany));
+        assertFalse(RequestRetry.isRetryable(HttpMethod.PATCH, unavailable));
+        assertFalse(RequestRetry.isRetryable(HttpMethod.GET, badRequest));
+        assertFalse(RequestRetry.isRetryable(HttpMethod.GET, internal));
+        assertTrue(RequestRetry.isRetryable(HttpMethod.GET, timedOut));
+        assertFalse(RequestRetry.isRetryable(HttpMethod.PUT, timedOut));
+        assertFalse(RequestRetry.isRetryable(HttpMethod.POST, timedOut));
+    }
+
+    @Test
+    void decorrelatedJitterStaysWithinBounds() {
+        for (int i = 0; i < 100; i++) {
+            long delay = RequestRetry.nextDelay(10, 40, 100);
+            assertTrue(delay >= 10 && delay <= 100, "delay " + delay);
+        }
+        assertEquals(10, RequestRetry.nextDelay(10, 1, 100));
+    }
+
+    private KiketClient client(String baseUrl, RetryPolicy policy) {
+        return new KiketClient(baseUrl, "wk_test", "v1", null, policy);
+    }
+
+    private String serve(AtomicInteger calls, List<String> keys, StatusForAttempt status, String retryAfter)
+        throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/test", exchange -> {
+            int code = status.apply(calls.incrementAndGet());
+            if (keys != null) {
+                keys.add(exchange.getRequestHeaders().getFirst(KiketClient.IDEMPOTENCY_KEY_HEADER));
+            }
+            byte[] body = (code == 200 ? "{\"ok\":true}" : "{\"error\":\"busy\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            if (retryAfter != null) {
+                exchange.getResponseHeaders().add("Retry-After", retryAfter);
+            }
+            exchange.sendResponseHeaders(code, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private interface StatusForAttempt {
+        int apply(int attempt);
+    }
+}
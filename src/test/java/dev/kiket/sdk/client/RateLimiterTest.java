@@ -0,0 +1,62 @@
+package dev.kiket.sdk.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final RateLimiter limiter = new RateLimiter(now::get);
+
+    @Test
+    void doesNotLimitUntilReported() {
+        assertEquals(0, limiter.reserve(0));
+        assertNull(limiter.status());
+    }
+
+    @Test
+    void pacesRequestsOnceRemainingIsSpent() {
+        limiter.update(10, 2, 60, 60);
+
+        assertEquals(0, limiter.reserve(0));
+        assertEquals(0, limiter.reserve(0));
+
+        // Refills at 10 tokens per 60 seconds
+        long wait = limiter.reserve(Long.MAX_VALUE);
+        assertEquals(TimeUnit.SECONDS.toNanos(6), wait, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    void waitsForResetWhenExhausted() {
+        limiter.update(10, 0, 30, 60);
+
+        long wait = limiter.reserve(0);
+
+        assertTrue(wait >= TimeUnit.SECONDS.toNanos(30));
+        now.addAndGet(wait);
+        assertEquals(0, limiter.reserve(0));
+    }
+
+    @Test
+    void reportsStatusUntilWindowResets() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimiter.LIMIT_HEADER, "600");
+        headers.set(RateLimiter.REMAINING_HEADER, "42");
+        headers.set(RateLimiter.RESET_HEADER, "12");
+        limiter.observe(headers);
+        limiter.reserve(0);
+
+        RateLimitStatus status = limiter.status();
+        assertEquals(600, status.getLimit());
+        assertEquals(41, status.getRemaining());
+        assertEquals(12, status.getResetIn());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(12));
+        assertNull(limiter.status());
+    }
+}
@@ -0,0 +1,154 @@
+package dev.kiket.sdk.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void keepsResponsesFreshForMaxAge() {
+        ResponseCache cache = cache(1024, 16);
+        ResponseCache.Key key = key("/extensions/ext-1");
+
+        cache.store(key, headers("max-age=60", null), body("{}"));
+
+        assertTrue(cache.isFresh(cache.get(key)));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertFalse(cache.isFresh(cache.get(key)));
+    }
+
+    @Test
+    void storesValidatedResponsesForRevalidation() {
+        ResponseCache cache = cache(1024, 16);
+        ResponseCache.Key key = key("/extensions/ext-1");
+        cache.store(key, headers("no-cache", "\"v1\""), body("{}"));
+
+        ResponseCache.Entry entry = cache.get(key);
+        assertFalse(cache.isFresh(entry));
+        HttpHeaders request = new HttpHeaders();
+        entry.addConditions(request);
+        assertEquals("\"v1\"", request.getFirst(HttpHeaders.IF_NONE_MATCH));
+
+        cache.revalidated(key, entry, headers("max-age=30", null));
+        assertTrue(cache.isFresh(cache.get(key)));
+    }
+
+    @Test
+    void skipsUncacheableResponses() {
+        ResponseCache cache = cache(1024, 16);
+
+        cache.store(key("/a"), headers("no-store", "\"v1\""), body("{}"));
+        cache.store(key("/b"), new HttpHeaders(), body("{}"));
+
+        assertNull(cache.get(key("/a")));
+        assertNull(cache.get(key("/b")));
+    }
+
+    @Test
+    void invalidatesResourceAndParentCollection() {
+        ResponseCache cache = cache(4096, 16);
+        cache.store(key("/ext/custom_data/crm/contacts/42?project_id=1"), headers("max-age=60", null), body("{}"));
+        cache.store(key("/ext/custom_data/crm/contacts?project_id=1"), headers("max-age=60", null), body("[]"));
+        cache.store(key("/ext/custom_data/crm/accounts?project_id=1"), headers("max-age=60", null), body("[]"));
+
+        cache.invalidate("/ext/custom_data/crm/contacts/42?project_id=1");
+
+        assertNull(cache.get(key("/ext/custom_data/crm/contacts/42?project_id=1")));
+        assertNull(cache.get(key("/ext/custom_data/crm/contacts?project_id=1")));
+        assertNotNull(cache.get(key("/ext/custom_data/crm/accounts?project_id=1")));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void admitsNewEntriesOnlyIfMoreFrequentThanVictim() {
+        ResponseCache cache = cache(1024, 2);
+        for (int i = 0; i < 3; i++) {
+            cache.get(key("/hot"));
+            cache.get(key("/warm"));
+        }
+        cache.store(key("/hot"), headers("max-age=60", null), body("{}"));
+        cache.store(key("/warm"), headers("max-age=60", null), body("{}"));
+
+        // Requested once: loses against the least recently used resident entry
+        cache.get(key("/cold"));
+        cache.store(key("/cold"), headers("max-age=60", null), body("{}"));
+        assertEquals(2, cache.size());
+        assertNull(cache.get(key("/cold")));
+
+        // Requested more often than the victim: admitted
+        for (int i = 0; i < 5; i++) {
+            cache.get(key("/rising"));
+        }
+        cache.store(key("/rising"), headers("max-age=60", null), body("{}"));
+        assertNotNull(cache.get(key("/rising")));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void rejectedEntryEvictsNothing() {
+        // Room for two 100-byte bodies; a 200-byte body needs both slots
+        ResponseCache cache = cache(400, 16);
+        cache.get(key("/cold"));
+        for (int i = 0; i < 5; i++) {
+            cache.get(key("/hot"));
+        }
+        cache.store(key("/cold"), headers("max-age=60", null), new byte[100]);
+        cache.store(key("/hot"), headers("max-age=60", null), new byte[100]);
+        long before = cache.bytes();
+
+        // More frequent than /cold but not /hot, so it is rejected before /cold is evicted
+        for (int i = 0; i < 3; i++) {
+            cache.get(key("/large"));
+        }
+        cache.store(key("/large"), headers("max-age=60", null), new byte[200]);
+
+        assertEquals(2, cache.size());
+        assertEquals(before, cache.bytes());
+        assertNotNull(cache.get(key("/cold")));
+        assertNull(cache.get(key("/large")));
+    }
+
+    @Test
+    void boundsTotalBytes() {
+        ResponseCache cache = cache(200, 16);
+
+        cache.store(key("/a"), headers("max-age=60", null), new byte[100]);
+        cache.store(key("/too-large"), headers("max-age=60", null), new byte[500]);
+
+        assertNull(cache.get(key("/too-large")));
+        assertTrue(cache.bytes() <= 200);
+    }
+
+    private ResponseCache cache(long maxBytes, int maxEntries) {
+        return new ResponseCache(
+            ResponseCacheOptions.builder().enabled(true).maxBytes(maxBytes).maxEntries(maxEntries).build(),
+            now::get);
+    }
+
+    private static ResponseCache.Key key(String path) {
+        return new ResponseCache.Key("wk_test", path);
+    }
+
+    private static HttpHeaders headers(String cacheControl, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (cacheControl != null) {
+            headers.set(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        if (etag != null) {
+            headers.set(HttpHeaders.ETAG, etag);
+        }
+        return headers;
+    }
+
+    private static byte[] body(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
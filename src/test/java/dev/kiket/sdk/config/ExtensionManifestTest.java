@@ -29,6 +29,20 @@ class ExtensionManifestTest {
         assertEquals(2, manifest.getSettings().size());
     }
 
+    @Test
+    void testFromMapWithRotatedDeliverySecrets() {
+        Map<String, Object> data = Map.of(
+            "id", "com.example.test",
+            "delivery_secret", "secret-new",
+            "delivery_secrets", List.of("secret-old")
+        );
+
+        ExtensionManifest manifest = ExtensionManifest.fromMap(data);
+
+        assertEquals("secret-new", manifest.getDeliverySecret());
+        assertEquals(List.of("secret-old"), manifest.getDeliverySecrets());
+    }
+
     @Test
     void testGetSettingsDefaults() {
         ExtensionManifest manifest = new ExtensionManifest();
@@ -0,0 +1,86 @@
+package dev.kiket.sdk.dispatch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void queuesAboveLimitAndAdmitsOnRelease() {
+        AdaptiveConcurrencyLimiter.Limit limit = new AdaptiveConcurrencyLimiter(1, 10).forKey("issue.created:v1");
+
+        assertTrue(limit.acquire().isDone());
+        CompletableFuture<Void> waiting = limit.acquire();
+        assertFalse(waiting.isDone());
+
+        limit.release(10 * MS, true);
+        assertTrue(waiting.isDone());
+        assertEquals(1, limit.getInFlight());
+    }
+
+    @Test
+    void limitGrowsWhileLatencyHoldsAndShrinksWhenItDegrades() {
+        AdaptiveConcurrencyLimiter.Limit limit = new AdaptiveConcurrencyLimiter(10, 100).forKey("issue.created:v1");
+
+        for (int i = 0; i < 50; i++) {
+            saturate(limit);
+            drain(limit, 10 * MS);
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > 10, "limit should grow, was " + grown);
+
+        for (int i = 0; i < 3; i++) {
+            saturate(limit);
+            drain(limit, 100 * MS);
+        }
+        assertTrue(limit.getLimit() < grown, "limit should shrink, was " + limit.getLimit());
+    }
+
+    @Test
+    void dropsShrinkLimitWithoutLatencySample() {
+        AdaptiveConcurrencyLimiter.Limit limit = new AdaptiveConcurrencyLimiter(10, 100).forKey("issue.created:v1");
+        saturate(limit);
+
+        for (int i = 0; i < 10; i++) {
+            limit.drop();
+        }
+
+        assertEquals(3, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void tracksLimitsPerKey() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(5, 50);
+        limiter.forKey("issue.created:v1");
+        limiter.forKey("issue.updated:v2");
+
+        assertEquals(Map.of("issue.created:v1", 5, "issue.updated:v2", 5), limiter.getLimits());
+    }
+
+    @Test
+    void shedsWhenWaitQueueIsFull() {
+        AdaptiveConcurrencyLimiter.Limit limit = new AdaptiveConcurrencyLimiter(1, 1).forKey("issue.created:v1");
+        limit.acquire();
+        limit.acquire();
+
+        assertTrue(limit.acquire().isCompletedExceptionally());
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimiter.Limit limit) {
+        while (limit.getInFlight() < limit.getLimit()) {
+            limit.acquire();
+        }
+    }
+
+    private static void drain(AdaptiveConcurrencyLimiter.Limit limit, long elapsedNanos) {
+        while (limit.getInFlight() > 0) {
+            limit.release(elapsedNanos, true);
+        }
+    }
+}
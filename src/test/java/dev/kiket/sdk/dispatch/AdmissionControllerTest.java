@@ -0,0 +1,79 @@
+package dev.kiket.sdk.dispatch;
+
+import dev.kiket.sdk.handler.HandlerPriority;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+
+    @Test
+    void admitsUpToLimitThenQueues() {
+        AdmissionController admission = new AdmissionController(1, 4);
+
+        assertTrue(admission.acquire(HandlerPriority.NORMAL).isDone());
+        CompletableFuture<Void> waiting = admission.acquire(HandlerPriority.NORMAL);
+
+        assertFalse(waiting.isDone());
+        assertEquals(1, admission.getQueued());
+        admission.release(0);
+        assertTrue(waiting.isDone());
+        assertEquals(1, admission.getInFlight());
+        assertEquals(0, admission.getQueued());
+    }
+
+    @Test
+    void shedsWhenQueueIsFull() {
+        AdmissionController admission = new AdmissionController(1, 0);
+        admission.acquire(HandlerPriority.NORMAL);
+
+        CompletableFuture<Void> shed = admission.acquire(HandlerPriority.HIGH);
+
+        CompletionException error = assertThrows(CompletionException.class, shed::join);
+        OverloadedException overloaded = assertInstanceOf(OverloadedException.class, error.getCause());
+        assertTrue(overloaded.getRetryAfter().compareTo(Duration.ofSeconds(1)) >= 0);
+        assertEquals(1, admission.getRejected());
+    }
+
+    @Test
+    void lowPriorityUsesOnlyPartOfQueue() {
+        AdmissionController admission = new AdmissionController(1, 4);
+        admission.acquire(HandlerPriority.NORMAL);
+
+        assertFalse(admission.acquire(HandlerPriority.LOW).isDone());
+        assertFalse(admission.acquire(HandlerPriority.LOW).isDone());
+        assertTrue(admission.acquire(HandlerPriority.LOW).isCompletedExceptionally());
+        assertFalse(admission.acquire(HandlerPriority.HIGH).isCompletedExceptionally());
+    }
+
+    @Test
+    void criticalDisplacesQueuedLowerPriority() {
+        AdmissionController admission = new AdmissionController(1, 1);
+        admission.acquire(HandlerPriority.NORMAL);
+        CompletableFuture<Void> bulk = admission.acquire(HandlerPriority.HIGH);
+
+        CompletableFuture<Void> critical = admission.acquire(HandlerPriority.CRITICAL);
+
+        assertTrue(bulk.isCompletedExceptionally());
+        assertFalse(critical.isDone());
+        admission.release(0);
+        assertTrue(critical.isDone());
+    }
+
+    @Test
+    void releaseServesHighestPriorityFirst() {
+        AdmissionController admission = new AdmissionController(1, 4);
+        admission.acquire(HandlerPriority.NORMAL);
+        CompletableFuture<Void> low = admission.acquire(HandlerPriority.LOW);
+        CompletableFuture<Void> high = admission.acquire(HandlerPriority.HIGH);
+
+        admission.release(0);
+
+        assertTrue(high.isDone());
+        assertFalse(low.isDone());
+    }
+}
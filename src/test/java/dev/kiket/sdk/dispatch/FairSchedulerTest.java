@@ -0,0 +1,72 @@
+package dev.kiket.sdk.dispatch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairSchedulerTest {
+
+    @Test
+    void servesTenantsInRoundRobinRatherThanArrivalOrder() {
+        FairScheduler scheduler = new FairScheduler(1, 10, Map.of());
+        scheduler.acquire("busy");
+        List<String> served = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            track(scheduler.acquire("busy"), "busy", served);
+        }
+        track(scheduler.acquire("quiet"), "quiet", served);
+
+        for (int i = 0; i < 4; i++) {
+            scheduler.release();
+        }
+
+        assertEquals(List.of("busy", "quiet", "busy", "busy"), served);
+    }
+
+    @Test
+    void weightsSetShareOfSlots() {
+        FairScheduler scheduler = new FairScheduler(1, 10, Map.of("gold", 2));
+        scheduler.acquire("gold");
+        List<String> served = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            track(scheduler.acquire("gold"), "gold", served);
+            track(scheduler.acquire("basic"), "basic", served);
+        }
+
+        for (int i = 0; i < 6; i++) {
+            scheduler.release();
+        }
+
+        assertEquals(List.of("gold", "gold", "basic", "gold", "basic", "basic"), served);
+    }
+
+    @Test
+    void shedsOnlyTheTenantWhoseQueueIsFull() {
+        FairScheduler scheduler = new FairScheduler(1, 1, Map.of());
+        scheduler.acquire("busy");
+        scheduler.acquire("busy");
+
+        assertTrue(scheduler.acquire("busy").isCompletedExceptionally());
+        assertFalse(scheduler.acquire("quiet").isCompletedExceptionally());
+        assertEquals(1, scheduler.getQueued("quiet"));
+    }
+
+    @Test
+    void releaseWithoutWaitersFreesSlot() {
+        FairScheduler scheduler = new FairScheduler(1, 0, Map.of());
+        scheduler.acquire("a");
+        scheduler.release();
+
+        assertEquals(0, scheduler.getRunning());
+        assertTrue(scheduler.acquire("b").isDone());
+    }
+
+    private static void track(CompletableFuture<Void> slot, String tenant, List<String> served) {
+        slot.thenRun(() -> served.add(tenant));
+    }
+}
@@ -0,0 +1,88 @@
+package dev.kiket.sdk.dispatch;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    @Test
+    void testConcurrentRetryWaitsForInFlightAttempt() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(1));
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<Object> original = cache.execute("id:1", () -> {
+            runs.incrementAndGet();
+            return first;
+        });
+        CompletableFuture<Object> retry = cache.execute("id:1", () -> {
+            runs.incrementAndGet();
+            return CompletableFuture.completedFuture("second");
+        });
+
+        assertFalse(retry.isDone());
+        first.complete("first");
+        assertEquals("first", original.get());
+        assertEquals("first", retry.get());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void testCompletedResultIsServedUntilExpiry() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ZERO);
+
+        cache.execute("id:1", () -> CompletableFuture.completedFuture("first")).get();
+        Thread.sleep(2);
+
+        assertEquals("second", cache.execute("id:1", () -> CompletableFuture.completedFuture("second")).get());
+    }
+
+    @Test
+    void testFailuresAreNotCached() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(1));
+
+        CompletableFuture<Object> failed = cache.execute("id:1",
+            () -> CompletableFuture.failedFuture(new IllegalStateException("boom")));
+        assertThrows(ExecutionException.class, failed::get);
+
+        assertEquals("ok", cache.execute("id:1", () -> CompletableFuture.completedFuture("ok")).get());
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        IdempotencyCache cache = new IdempotencyCache(2, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 5; i++) {
+            cache.execute("id:" + i, () -> CompletableFuture.completedFuture("ok"));
+        }
+
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testKeyPrefersDeliveryIdHeader() {
+        WebhookDelivery withId = delivery(Map.of("x-kiket-delivery-id", "abc"), "{}");
+        WebhookDelivery withoutId = delivery(Map.of(), "{}");
+
+        assertEquals("id:abc", IdempotencyCache.keyFor(withId));
+        assertEquals(IdempotencyCache.keyFor(withoutId), IdempotencyCache.keyFor(delivery(Map.of(), "{}")));
+        assertNotEquals(IdempotencyCache.keyFor(withoutId), IdempotencyCache.keyFor(delivery(Map.of(), "{\"a\":1}")));
+    }
+
+    private static WebhookDelivery delivery(Map<String, String> headers, String body) {
+        return WebhookDelivery.builder()
+            .event("issue.created")
+            .version("v1")
+            .headers(headers)
+            .body(body.getBytes(StandardCharsets.UTF_8))
+            .build();
+    }
+}
@@ -0,0 +1,48 @@
+package dev.kiket.sdk.dispatch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderedLanesTest {
+
+    @Test
+    void sameKeyWaitsForPreviousTask() {
+        OrderedLanes lanes = new OrderedLanes(8);
+        CompletableFuture<Object> firstWork = new CompletableFuture<>();
+        AtomicInteger secondStarts = new AtomicInteger();
+
+        CompletableFuture<Object> first = lanes.submit("issue-1", () -> firstWork);
+        CompletableFuture<Object> second = lanes.submit("issue-1", () -> {
+            secondStarts.incrementAndGet();
+            return CompletableFuture.completedFuture("second");
+        });
+
+        assertEquals(0, secondStarts.get());
+        firstWork.complete("first");
+        assertEquals("first", first.join());
+        assertEquals("second", second.join());
+        assertEquals(1, secondStarts.get());
+    }
+
+    @Test
+    void failedTaskDoesNotBlockLane() {
+        OrderedLanes lanes = new OrderedLanes(1);
+
+        CompletableFuture<Object> failed = lanes.submit("a", () -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<Object> next = lanes.submit("b", () -> CompletableFuture.completedFuture("ok"));
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals("ok", next.join());
+    }
+
+    @Test
+    void rejectsNonPositiveLaneCount() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderedLanes(0));
+    }
+}
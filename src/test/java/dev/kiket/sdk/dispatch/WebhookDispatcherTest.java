@@ -0,0 +1,447 @@
+package dev.kiket.sdk.dispatch;
+
+import dev.kiket.sdk.config.SDKConfig;
+import dev.kiket.sdk.handler.AsyncWebhookHandler;
+import dev.kiket.sdk.handler.HandlerOptions;
+import dev.kiket.sdk.handler.HandlerPriority;
+import dev.kiket.sdk.handler.HandlerRegistry;
+import dev.kiket.sdk.handler.LazyPayload;
+import dev.kiket.sdk.telemetry.TelemetryReporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+
+class WebhookDispatcherTest {
+
+    private HandlerRegistry registry;
+    private TelemetryReporter telemetry;
+    private WebhookDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        registry = new HandlerRegistry();
+        telemetry = Mockito.mock(TelemetryReporter.class);
+        SDKConfig config = SDKConfig.builder()
+            .baseUrl("https://kiket.test")
+            .workspaceToken("wk_test")
+            .extensionId("com.example.ext")
+            .extensionVersion("1.0.0")
+            .settings(new HashMap<>())
+            .build();
+        dispatcher = new WebhookDispatcher(config, registry, telemetry, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.close();
+    }
+
+    @Test
+    void dispatchInvokesHandlerWithParsedPayloadAndContext() throws Exception {
+        AtomicReference<String> seenVersion = new AtomicReference<>();
+        registry.register("issue.created", "v2", (payload, context) -> {
+            seenVersion.set(context.getEventVersion());
+            return Map.of("title", ((Map<?, ?>) payload.get("issue")).get("title"));
+        });
+
+        Object result = dispatcher.dispatch(delivery("issue.created", "v2", "{\"issue\":{\"title\":\"Hi\"}}")).get();
+
+        assertEquals(Map.of("title", "Hi"), result);
+        assertEquals("v2", seenVersion.get());
+        Mockito.verify(telemetry).record(eq("issue.created"), eq("v2"), eq("ok"), anyDouble(), eq(null));
+    }
+
+    @Test
+    void dispatchFailsForUnknownHandler() {
+        CompletableFuture<Object> result = dispatcher.dispatch(delivery("unknown.event", "v1", "{}"));
+
+        ExecutionException error = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(HandlerNotFoundException.class, error.getCause());
+    }
+
+    @Test
+    void dispatchPropagatesHandlerFailure() {
+        registry.register("issue.created", "v1", (payload, context) -> {
+            throw new IllegalStateException("boom");
+        });
+
+        CompletableFuture<Object> result = dispatcher.dispatch(delivery("issue.created", "v1", "{}"));
+
+        ExecutionException error = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        Mockito.verify(telemetry).record(eq("issue.created"), eq("v1"), eq("error"), anyDouble(),
+            eq("boom"), eq(IllegalStateException.class.getName()));
+    }
+
+    @Test
+    void dispatchCompletesWithAsyncHandlerStage() throws Exception {
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        registry.registerAsync("issue.created", "v1", (payload, context) -> pending);
+
+        CompletableFuture<Object> result = dispatcher.dispatch(delivery("issue.created", "v1", "{}"));
+
+        assertFalse(result.isDone());
+        pending.complete(Map.of("ok", true));
+        assertEquals(Map.of("ok", true), result.get());
+    }
+
+    @Test
+    void dispatchSupportsMonoHandlers() throws Exception {
+        registry.registerAsync("issue.created", "v1",
+            AsyncWebhookHandler.fromMono((payload, context) -> Mono.just(payload.get("id"))));
+
+        assertEquals(7, dispatcher.dispatch(delivery("issue.created", "v1", "{\"id\":7}")).get());
+    }
+
+    @Test
+    void dispatchOrdersDeliveriesSharingAnOrderingKey() throws Exception {
+        Map<Object, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+        List<String> started = new CopyOnWriteArrayList<>();
+        registry.registerAsync("issue.updated", "v1", (payload, context) -> {
+            Map<?, ?> issue = (Map<?, ?>) payload.get("issue");
+            started.add(issue.get("id") + ":" + issue.get("rev"));
+            return pending.computeIfAbsent(issue.get("id") + ":" + issue.get("rev"), k -> new CompletableFuture<>());
+        }, HandlerOptions.builder().orderingKey("issue.id").build());
+
+        CompletableFuture<Object> first = dispatcher.dispatch(delivery("issue.updated", "v1", "{\"issue\":{\"id\":1,\"rev\":1}}"));
+        CompletableFuture<Object> second = dispatcher.dispatch(delivery("issue.updated", "v1", "{\"issue\":{\"id\":1,\"rev\":2}}"));
+        CompletableFuture<Object> other = dispatcher.dispatch(delivery("issue.updated", "v1", "{\"issue\":{\"id\":2,\"rev\":1}}"));
+
+        assertEquals(List.of("1:1", "2:1"), started);
+        pending.get("1:1").complete("done");
+        assertEquals("done", first.get());
+        assertEquals(List.of("1:1", "2:1", "1:2"), started);
+        assertFalse(second.isDone());
+        assertFalse(other.isDone());
+    }
+
+    @Test
+    void dispatchRunsUnorderedWhenOrderingKeyIsMissing() throws Exception {
+        registry.register("issue.updated", "v1", (payload, context) -> "ran",
+            HandlerOptions.builder().orderingKey("issue.id").build());
+
+        assertEquals("ran", dispatcher.dispatch(delivery("issue.updated", "v1", "{\"comment\":{}}")).get());
+    }
+
+    @Test
+    void dispatchShedsDeliveriesBeyondAdmissionCapacity() throws Exception {
+        SDKConfig config = SDKConfig.builder().baseUrl("https://kiket.test").settings(new HashMap<>()).build();
+        AdmissionController admission = new AdmissionController(1, 0);
+        WebhookDispatcher limited = new WebhookDispatcher(config, registry, telemetry, Runnable::run,
+            DispatchOptions.builder().admissionController(admission).build());
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        registry.registerAsync("issue.created", "v1", (payload, context) -> pending);
+
+        CompletableFuture<Object> first = limited.dispatch(delivery("issue.created", "v1", "{}"));
+        CompletableFuture<Object> second = limited.dispatch(delivery("issue.created", "v1", "{}"));
+
+        ExecutionException error = assertThrows(ExecutionException.class, second::get);
+        assertInstanceOf(OverloadedException.class, error.getCause());
+        pending.complete("done");
+        assertEquals("done", first.get());
+        assertEquals(0, admission.getInFlight());
+    }
+
+    @Test
+    void priorityAdmissionDoesNotReorderDeliveriesSharingAKey() {
+        SDKConfig config = SDKConfig.builder().baseUrl("https://kiket.test").settings(new HashMap<>()).build();
+        WebhookDispatcher limited = new WebhookDispatcher(config, registry, telemetry, Runnable::run,
+            DispatchOptions.builder().admissionController(new AdmissionController(1, 4)).build());
+        Map<String, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+        List<String> started = new CopyOnWriteArrayList<>();
+        Map<String, HandlerPriority> priorities = Map.of("issue.updated", HandlerPriority.LOW,
+            "issue.deleted", HandlerPriority.CRITICAL);
+        priorities.forEach((event, priority) -> registry.registerAsync(event, "v1", (payload, context) -> {
+            String name = context.getEvent() + ":" + ((Map<?, ?>) payload.get("issue")).get("id");
+            started.add(name);
+            return pending.computeIfAbsent(name, k -> new CompletableFuture<>());
+        }, HandlerOptions.builder().orderingKey("issue.id").priority(priority).build()));
+
+        limited.dispatch(delivery("issue.updated", "v1", "{\"issue\":{\"id\":2}}"));
+        limited.dispatch(delivery("issue.updated", "v1", "{\"issue\":{\"id\":1}}"));
+        limited.dispatch(delivery("issue.deleted", "v1", "{\"issue\":{\"id\":1}}"));
+
+        pending.get("issue.updated:2").complete("done");
+        pending.get("issue.updated:1").complete("done");
+        assertEquals(List.of("issue.updated:2", "issue.updated:1", "issue.deleted:1"), started);
+        limited.close();
+    }
+
+    @Test
+    void fairSchedulingQueuesTenantsBeforeAdmission() throws Exception {
+        SDKConfig config = SDKConfig.builder().baseUrl("https://kiket.test").settings(new HashMap<>()).build();
+        WebhookDispatcher fair = new WebhookDispatcher(config, registry, telemetry, Runnable::run,
+            DispatchOptions.builder()
+                .admissionController(new AdmissionController(1, 1))
+                .fairScheduler(new FairScheduler(1, 2, Map.of()))
+                .build());
+        List<CompletableFuture<Object>> pending = new CopyOnWriteArrayList<>();
+        List<String> served = new CopyOnWriteArrayList<>();
+        registry.registerAsync("issue.created", "v1", (payload, context) -> {
+            served.add(context.getHeaders().get(FairScheduler.DEFAULT_TENANT_HEADER));
+            CompletableFuture<Object> result = new CompletableFuture<>();
+            pending.add(result);
+            return result;
+        });
+
+        List<CompletableFuture<Object>> busy = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            busy.add(fair.dispatch(tenantDelivery("busy")));
+        }
+        CompletableFuture<Object> quiet = fair.dispatch(tenantDelivery("quiet"));
+
+        // The busy tenant is shed from its own queue; the quiet one still gets a turn
+        assertTrue(busy.get(3).isCompletedExceptionally());
+        assertFalse(quiet.isDone());
+        pending.get(0).complete("done");
+        pending.get(1).complete("done");
+        assertEquals(List.of("busy", "busy", "quiet"), served);
+        fair.close();
+    }
+
+    @Test
+    void fairSchedulingDoesNotReorderDeliveriesSharingAKey() {
+        SDKConfig config = SDKConfig.builder().baseUrl("https://kiket.test").settings(new HashMap<>()).build();
+        WebhookDispatcher fair = new WebhookDispatcher(config, registry, telemetry, Runnable::run,
+            DispatchOptions.builder().fairScheduler(new FairScheduler(1, 4, Map.of())).build());
+        Map<String, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+        List<String> started = new CopyOnWriteArrayList<>();
+        registry.registerAsync("issue.updated", "v1", (payload, context) -> {
+            String name = context.getHeaders().get(FairScheduler.DEFAULT_TENANT_HEADER) + ":"
+                + ((Map<?, ?>) payload.get("issue")).get("id");
+            started.add(name);
+            return pending.computeIfAbsent(name, k -> new CompletableFuture<>());
+        }, HandlerOptions.builder().orderingKey("issue.id").build());
+
+        fair.dispatch(tenantDelivery("busy", "{\"issue\":{\"id\":9}}"));
+        fair.dispatch(tenantDelivery("busy", "{\"issue\":{\"id\":8}}"));
+        fair.dispatch(tenantDelivery("busy", "{\"issue\":{\"id\":1}}"));
+        fair.dispatch(tenantDelivery("quiet", "{\"issue\":{\"id\":1}}"));
+
+        // Round-robin would serve quiet next, but its delivery for issue 1 arrived after busy's
+        pending.get("busy:9").complete("done");
+        pending.get("busy:8").complete("done");
+        pending.get("busy:1").complete("done");
+        assertEquals(List.of("busy:9", "busy:8", "busy:1", "quiet:1"), started);
+        fair.close();
+    }
+
+    @Test
+    void handlerTimeoutsShrinkAdaptiveLimit() {
+        SDKConfig config = SDKConfig.builder().baseUrl("https://kiket.test").settings(new HashMap<>()).build();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 100);
+        WebhookDispatcher limited = new WebhookDispatcher(config, registry, telemetry, Runnable::run,
+            DispatchOptions.builder().concurrencyLimiter(limiter).build());
+        registry.registerAsync("issue.created", "v1", (payload, context) -> new CompletableFuture<>(),
+            HandlerOptions.builder().timeout(Duration.ofMillis(20)).build());
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+            () -> limited.dispatch(delivery("issue.created", "v1", "{}")).get());
+
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertEquals(Map.of("issue.created:v1", 9), limiter.getLimits());
+        limited.close();
+    }
+
+    @Test
+    void throttledDeliveryKeepsItsPlaceInTheOrderingLane() {
+        SDKConfig config = SDKConfig.builder().baseUrl("https://kiket.test").settings(new HashMap<>()).build();
+        WebhookDispatcher limited = new WebhookDispatcher(config, registry, telemetry, Runnable::run,
+            DispatchOptions.builder().concurrencyLimiter(new AdaptiveConcurrencyLimiter(1, 1)).build());
+        Map<String, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+        List<String> started = new CopyOnWriteArrayList<>();
+        HandlerOptions ordered = HandlerOptions.builder().orderingKey("issue.id").build();
+        for (String event : List.of("issue.updated", "issue.commented")) {
+            registry.registerAsync(event, "v1", (payload, context) -> {
+                String name = context.getEvent() + ":" + ((Map<?, ?>) payload.get("issue")).get("id");
+                started.add(name);
+                return pending.computeIfAbsent(name, k -> new CompletableFuture<>());
+            }, ordered);
+        }
+
+        limited.dispatch(delivery("issue.updated", "v1", "{\"issue\":{\"id\":2}}"));
+        CompletableFuture<Object> throttled = limited.dispatch(delivery("issue.updated", "v1", "{\"issue\":{\"id\":1}}"));
+        CompletableFuture<Object> later = limited.dispatch(delivery("issue.commented", "v1", "{\"issue\":{\"id\":1}}"));
+
+        // issue.commented has its own limit, but must not overtake the throttled issue.updated for issue 1
+        assertEquals(List.of("issue.updated:2"), started);
+        pending.get("issue.updated:2").complete("done");
+        assertEquals(List.of("issue.updated:2", "issue.updated:1"), started);
+        pending.get("issue.updated:1").complete("done");
+        assertEquals(List.of("issue.updated:2", "issue.updated:1", "issue.commented:1"), started);
+        assertTrue(throttled.isDone());
+        assertFalse(later.isDone());
+        limited.close();
+    }
+
+    @Test
+    void dispatchInterruptsBlockingHandlerPastItsDeadline() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch interrupted = new CountDownLatch(1);
+            registry.register("issue.created", "v1", (payload, context) -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            }, HandlerOptions.builder().executor(pool).timeout(Duration.ofMillis(50)).build());
+
+            CompletableFuture<Object> result = dispatcher.dispatch(delivery("issue.created", "v1", "{}"));
+
+            ExecutionException error = assertThrows(ExecutionException.class, result::get);
+            assertInstanceOf(TimeoutException.class, error.getCause());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void timedOutHandlerKeepsBulkheadPermitUntilItReturns() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch finishFirst = new CountDownLatch(1);
+            AtomicInteger calls = new AtomicInteger();
+            registry.register("issue.created", "v1", (payload, context) -> {
+                if (calls.incrementAndGet() == 1) {
+                    // Ignore the interrupt at the deadline and keep the thread busy
+                    while (true) {
+                        try {
+                            finishFirst.await();
+                            break;
+                        } catch (InterruptedException ignored) {
+                        }
+                    }
+                }
+                return "ran";
+            }, HandlerOptions.builder().executor(pool).timeout(Duration.ofMillis(50))
+                .maxConcurrency(1).maxQueued(1).build());
+
+            CompletableFuture<Object> first = dispatcher.dispatch(delivery("issue.created", "v1", "{}"));
+            ExecutionException error = assertThrows(ExecutionException.class, first::get);
+            assertInstanceOf(TimeoutException.class, error.getCause());
+            CompletableFuture<Object> second = dispatcher.dispatch(delivery("issue.created", "v1", "{}"));
+
+            Thread.sleep(100);
+            assertEquals(1, calls.get());
+            assertFalse(second.isDone());
+            finishFirst.countDown();
+            assertEquals("ran", second.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void dispatchCapsHandlerConcurrencyWithBulkhead() {
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+        registry.registerAsync("issue.created", "v1", (payload, context) -> {
+            calls.incrementAndGet();
+            return pending;
+        }, HandlerOptions.builder().maxConcurrency(1).maxQueued(1).build());
+
+        CompletableFuture<Object> first = dispatcher.dispatch(delivery("issue.created", "v1", "{}"));
+        CompletableFuture<Object> queued = dispatcher.dispatch(delivery("issue.created", "v1", "{}"));
+        CompletableFuture<Object> shed = dispatcher.dispatch(delivery("issue.created", "v1", "{}"));
+
+        assertEquals(1, calls.get());
+        assertFalse(queued.isDone());
+        ExecutionException error = assertThrows(ExecutionException.class, shed::get);
+        assertInstanceOf(OverloadedException.class, error.getCause());
+        pending.complete("done");
+        assertEquals(2, calls.get());
+        assertEquals("done", first.join());
+    }
+
+    @Test
+    void dispatchBindsTypedPayload() throws Exception {
+        registry.register("issue.created", "v1", IssueCreated.class,
+            (payload, context) -> payload.issue().title() + "#" + payload.issue().id());
+
+        Object result = dispatcher.dispatch(delivery("issue.created", "v1",
+            "{\"issue\":{\"id\":7,\"title\":\"Hi\",\"labels\":[\"bug\"]},\"actor\":{}}")).get();
+
+        assertEquals("Hi#7", result);
+    }
+
+    @Test
+    void dispatchPassesLazyPayloadWhenRequested() throws Exception {
+        registry.register("issue.created", "v1", LazyPayload.class,
+            (payload, context) -> payload.getString("issue.title"));
+        registry.register("issue.updated", "v1", (payload, context) -> payload.getClass(),
+            HandlerOptions.builder().lazyPayload(true).build());
+
+        assertEquals("Hi", dispatcher.dispatch(delivery("issue.created", "v1", "{\"issue\":{\"title\":\"Hi\"}}")).get());
+        assertEquals(LazyPayload.class, dispatcher.dispatch(delivery("issue.updated", "v1", "{}")).get());
+    }
+
+    @Test
+    void extractKeyResolvesDottedPaths() {
+        byte[] payload = "{\"issue\":{\"id\":42,\"project\":{\"key\":\"KIK\"}}}".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(42, WebhookDispatcher.extractKey(payload, "issue.id"));
+        assertEquals("KIK", WebhookDispatcher.extractKey(payload, "issue.project.key"));
+        assertNull(WebhookDispatcher.extractKey(payload, "issue.id.value"));
+        assertNull(WebhookDispatcher.extractKey(payload, "comment.id"));
+        assertNull(WebhookDispatcher.extractKey("{not json".getBytes(StandardCharsets.UTF_8), "issue.id"));
+    }
+
+    record IssueCreated(Issue issue) {
+        record Issue(long id, String title) {
+        }
+    }
+
+    private static WebhookDelivery tenantDelivery(String tenant) {
+        return WebhookDelivery.builder()
+            .event("issue.created")
+            .version("v1")
+            .headers(Map.of(FairScheduler.DEFAULT_TENANT_HEADER, tenant))
+            .body("{}".getBytes(StandardCharsets.UTF_8))
+            .build();
+    }
+
+    private static WebhookDelivery tenantDelivery(String tenant, String body) {
+        return WebhookDelivery.builder()
+            .event("issue.updated")
+            .version("v1")
+            .headers(Map.of(FairScheduler.DEFAULT_TENANT_HEADER, tenant))
+            .body(body.getBytes(StandardCharsets.UTF_8))
+            .build();
+    }
+
+    private static WebhookDelivery delivery(String event, String version, String body) {
+        return WebhookDelivery.builder()
+            .event(event)
+            .version(version)
+            .headers(Map.of())
+            .body(body.getBytes(StandardCharsets.UTF_8))
+            .build();
+    }
+}
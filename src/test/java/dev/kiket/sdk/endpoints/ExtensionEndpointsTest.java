@@ -1,6 +1,7 @@
 package dev.kiket.sdk.endpoints;
 
 import dev.kiket.sdk.client.KiketClient;
+import dev.kiket.sdk.client.RateLimitStatus;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import reactor.core.publisher.Mono;
@@ -31,5 +32,24 @@ class ExtensionEndpointsTest {
         assertNotNull(result);
         assertEquals(600, result.getLimit());
         assertEquals(42, result.getRemaining());
+        Mockito.verify(client).updateRateLimit(600, 42, 12, 60);
+    }
+
+    @Test
+    void rateLimitUsesCachedStatusWithoutRequest() {
+        KiketClient client = Mockito.mock(KiketClient.class);
+        Mockito.when(client.getRateLimitStatus()).thenReturn(RateLimitStatus.builder()
+            .limit(600)
+            .remaining(17)
+            .windowSeconds(60)
+            .resetIn(5)
+            .build());
+
+        ExtensionEndpoints endpoints = new ExtensionEndpoints(client, "ext-1", "v1");
+        RateLimitInfo result = endpoints.rateLimit();
+
+        assertEquals(17, result.getRemaining());
+        assertEquals(5, result.getResetIn());
+        Mockito.verify(client, Mockito.never()).get(Mockito.anyString(), Mockito.any());
     }
 }
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,6 +31,18 @@ class HandlerRegistryTest {
         assertEquals(handler, metadata.getHandler());
     }
 
+    @Test
+    void testMetadataDefaultsOptions() {
+        WebhookHandler handler = (payload, context) -> null;
+
+        HandlerRegistry.HandlerMetadata metadata = new HandlerRegistry.HandlerMetadata("test.event", "v1", handler);
+
+        assertEquals(handler, metadata.getHandler());
+        assertFalse(metadata.isAsync());
+        assertEquals(HandlerOptions.defaults(), metadata.getOptions());
+        assertEquals("test.event:v1", metadata.getKey());
+    }
+
     @Test
     void testRegisterMultipleVersions() {
         WebhookHandler handlerV1 = (payload, context) -> "v1";
@@ -86,4 +100,81 @@ class HandlerRegistryTest {
 
         assertEquals(handler2, registry.get("test.event", "v1").getHandler());
     }
+
+    @Test
+    void testRegisterAsyncHandler() {
+        AsyncWebhookHandler handler = (payload, context) -> CompletableFuture.completedFuture("async");
+
+        registry.registerAsync("test.event", "v1", handler);
+
+        HandlerRegistry.HandlerMetadata metadata = registry.get("test.event", "v1");
+        assertTrue(metadata.isAsync());
+        assertEquals(handler, metadata.getAsyncHandler());
+        assertNull(metadata.getHandler());
+    }
+
+    @Test
+    void testWildcardVersionHandlesUnknownVersions() {
+        WebhookHandler exact = (payload, context) -> "v1";
+        WebhookHandler wildcard = (payload, context) -> "any";
+
+        registry.register("test.event", "v1", exact);
+        registry.register("test.event", HandlerRegistry.ANY_VERSION, wildcard);
+
+        assertEquals(exact, registry.get("test.event", "v1").getHandler());
+        assertEquals(wildcard, registry.get("test.event", "v9").getHandler());
+        assertNull(registry.get("other.event", "v1"));
+    }
+
+    @Test
+    void testLatestCompatibleFallback() {
+        WebhookHandler v1 = (payload, context) -> "v1";
+        WebhookHandler v2 = (payload, context) -> "v2";
+        WebhookHandler v210 = (payload, context) -> "v2.10";
+
+        registry.setVersionFallback(VersionFallback.LATEST_COMPATIBLE);
+        registry.register("test.event", "v1", v1);
+        registry.register("test.event", "v2", v2);
+        registry.register("test.event", "v2.10", v210);
+
+        assertEquals(v210, registry.get("test.event", "v2.3").getHandler());
+        assertEquals(v1, registry.get("test.event", "v1.4").getHandler());
+        assertEquals(v2, registry.get("test.event", "v2").getHandler());
+        assertNull(registry.get("test.event", "v3"));
+    }
+
+    @Test
+    void testExactFallbackByDefault() {
+        registry.register("test.event", "v2", (payload, context) -> null);
+
+        assertNull(registry.get("test.event", "v2.1"));
+    }
+
+    @Test
+    void testRegisterAfterFreezeFails() {
+        registry.register("test.event", "v1", (payload, context) -> null);
+        registry.freeze();
+
+        assertThrows(IllegalStateException.class,
+            () -> registry.register("test.event", "v2", (payload, context) -> null));
+        assertNotNull(registry.get("test.event", "v1"));
+    }
+
+    @Test
+    void testLookupReturnsSameEventNamesInstance() {
+        registry.register("event1", "v1", (payload, context) -> null);
+
+        assertSame(registry.eventNames(), registry.eventNames());
+    }
+
+    @Test
+    void testRegisterTypedHandlerPreparesReader() {
+        TypedWebhookHandler<Map> handler = (payload, context) -> payload;
+
+        registry.register("test.event", "v1", Map.class, handler);
+
+        HandlerRegistry.HandlerMetadata metadata = registry.get("test.event", "v1");
+        assertTrue(metadata.isTyped());
+        assertSame(PayloadReaders.forType(Map.class), metadata.getPayloadReader());
+    }
 }
@@ -0,0 +1,79 @@
+package dev.kiket.sdk.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyPayloadTest {
+    private static final String JSON = "{\"issue\":{\"id\":42,\"title\":\"Login \\\"bug\\\"\",\"score\":1.5,"
+        + "\"open\":true,\"assignee\":null,\"labels\":[\"bug\",{\"name\":\"p1\"}],"
+        + "\"body\":\"" + "x".repeat(10_000) + "\"},\"count\":3000000000}";
+
+    @Test
+    void resolvesPaths() {
+        LazyPayload payload = LazyPayload.of(bytes(JSON));
+
+        assertEquals("Login \"bug\"", payload.getString("issue.title"));
+        assertEquals(42, payload.getInt("issue.id"));
+        assertEquals("42", payload.getString("issue.id"));
+        assertEquals(1.5, payload.getDouble("issue.score"));
+        assertTrue(payload.getBoolean("issue.open"));
+        assertEquals(3_000_000_000L, payload.getLong("count"));
+        assertEquals("bug", payload.getString("issue.labels.0"));
+        assertEquals("p1", payload.getString("issue.labels.1.name"));
+        assertNull(payload.getValue("issue.assignee"));
+        assertTrue(payload.containsKey("issue"));
+        assertFalse(payload.has("issue.missing.deeper"));
+        assertNull(payload.getString("issue.labels.9"));
+    }
+
+    @Test
+    void nestedObjectsAreLazyViews() {
+        LazyPayload payload = LazyPayload.of(bytes(JSON));
+
+        LazyPayload issue = payload.getObject("issue");
+
+        assertNotNull(issue);
+        assertEquals(7, issue.size());
+        assertSame(issue, payload.get("issue"));
+    }
+
+    @Test
+    void equalsFullyParsedMap() throws Exception {
+        Map<?, ?> parsed = new ObjectMapper().readValue(JSON, Map.class);
+
+        assertEquals(parsed, LazyPayload.of(bytes(JSON)));
+    }
+
+    @Test
+    void emptyBodyIsEmptyObject() {
+        assertTrue(LazyPayload.of(new byte[0]).isEmpty());
+        assertNull(LazyPayload.of(null).getString("issue.title"));
+        assertNotSame(LazyPayload.of(null), LazyPayload.of(new byte[0]));
+    }
+
+    @Test
+    void listsAreReadOnly() {
+        List<Object> labels = LazyPayload.of(bytes(JSON)).getList("issue.labels");
+
+        assertEquals(2, labels.size());
+        assertThrows(UnsupportedOperationException.class, () -> labels.add("x"));
+    }
+
+    @Test
+    void malformedPayloadFailsOnAccess() {
+        LazyPayload payload = LazyPayload.of(bytes("[1,2]"));
+
+        assertThrows(UncheckedIOException.class, () -> payload.get("issue"));
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
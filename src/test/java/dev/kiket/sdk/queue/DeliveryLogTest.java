@@ -0,0 +1,96 @@
+package dev.kiket.sdk.queue;
+
+import dev.kiket.sdk.dispatch.WebhookDelivery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeliveryLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAppendAndPollRoundTrip() throws Exception {
+        try (DeliveryLog log = new DeliveryLog(directory, 4096, false)) {
+            log.append(delivery("issue.created", "{\"id\":1}"));
+
+            DeliveryLog.Record record = log.poll(1, TimeUnit.SECONDS);
+
+            assertNotNull(record);
+            assertEquals("issue.created", record.getDelivery().getEvent());
+            assertEquals("v1", record.getDelivery().getVersion());
+            assertEquals("abc", record.getDelivery().getHeaders().get("X-Kiket-Delivery-Id"));
+            assertEquals("{\"id\":1}", new String(record.getDelivery().getBody(), StandardCharsets.UTF_8));
+            assertNull(log.poll(10, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void testPendingRecordsAreReplayedAfterRestart() throws Exception {
+        DeliveryLog first = new DeliveryLog(directory, 4096, false);
+        first.append(delivery("issue.created", "{\"id\":1}"));
+        first.append(delivery("issue.updated", "{\"id\":1}"));
+        first.complete(first.poll(1, TimeUnit.SECONDS));
+        first.poll(1, TimeUnit.SECONDS);
+        first.close();
+
+        try (DeliveryLog second = new DeliveryLog(directory, 4096, false)) {
+            assertEquals(1, second.pendingCount());
+            DeliveryLog.Record replayed = second.poll(1, TimeUnit.SECONDS);
+            assertEquals("issue.updated", replayed.getDelivery().getEvent());
+            assertNull(second.poll(10, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void testCompletedSegmentsAreDeleted() throws Exception {
+        try (DeliveryLog log = new DeliveryLog(directory, 256, false)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(delivery("issue.created", "{\"id\":" + i + "}"));
+            }
+            assertTrue(segmentCount() > 2);
+
+            for (int i = 0; i < 10; i++) {
+                log.complete(log.poll(1, TimeUnit.SECONDS));
+            }
+            assertNull(log.poll(10, TimeUnit.MILLISECONDS));
+
+            assertEquals(0, log.pendingCount());
+            assertEquals(1, segmentCount());
+        }
+    }
+
+    @Test
+    void testOversizedRecordGetsDedicatedSegment() throws Exception {
+        try (DeliveryLog log = new DeliveryLog(directory, 128, false)) {
+            String body = "x".repeat(1000);
+            log.append(delivery("issue.created", body));
+
+            assertEquals(body, new String(log.poll(1, TimeUnit.SECONDS).getDelivery().getBody(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private long segmentCount() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static WebhookDelivery delivery(String event, String body) {
+        return WebhookDelivery.builder()
+            .event(event)
+            .version("v1")
+            .headers(Map.of("X-Kiket-Delivery-Id", "abc"))
+            .body(body.getBytes(StandardCharsets.UTF_8))
+            .build();
+    }
+}
@@ -0,0 +1,92 @@
+package dev.kiket.sdk.queue;
+
+import dev.kiket.sdk.config.SDKConfig;
+import dev.kiket.sdk.dispatch.OverloadedException;
+import dev.kiket.sdk.dispatch.WebhookDelivery;
+import dev.kiket.sdk.dispatch.WebhookDispatcher;
+import dev.kiket.sdk.handler.HandlerOptions;
+import dev.kiket.sdk.handler.HandlerRegistry;
+import dev.kiket.sdk.telemetry.TelemetryReporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeliveryQueueTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rejectsDeliveriesBeyondMaxPending() throws Exception {
+        DeliveryLog log = new DeliveryLog(directory, 4096, false);
+        try (DeliveryQueue queue = new DeliveryQueue(log, null, 1, 1, 2)) {
+            queue.enqueue(delivery());
+            queue.enqueue(delivery());
+
+            OverloadedException error = assertThrows(OverloadedException.class, () -> queue.enqueue(delivery()));
+            assertTrue(error.getRetryAfter().toSeconds() >= 1);
+            assertEquals(2, queue.pendingCount());
+        }
+    }
+
+    @Test
+    void retriesKeepDeliveriesSharingAKeyInOrder() throws Exception {
+        HandlerRegistry registry = new HandlerRegistry();
+        List<String> handled = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        registry.register("issue.updated", "v1", (payload, context) -> {
+            Object rev = ((Map<?, ?>) payload.get("issue")).get("rev");
+            handled.add("rev" + rev);
+            if (handled.size() == 1) {
+                throw new IllegalStateException("transient");
+            }
+            if (handled.size() == 3) {
+                done.countDown();
+            }
+            return null;
+        }, HandlerOptions.builder().orderingKey("issue.id").build());
+        SDKConfig config = SDKConfig.builder().baseUrl("https://kiket.test").settings(new HashMap<>()).build();
+        DeliveryLog log = new DeliveryLog(directory, 4096, false);
+
+        try (WebhookDispatcher dispatcher = new WebhookDispatcher(config, registry,
+                Mockito.mock(TelemetryReporter.class), Runnable::run);
+             DeliveryQueue queue = new DeliveryQueue(log, dispatcher, 4, 3, 10)) {
+            queue.enqueue(delivery("{\"issue\":{\"id\":1,\"rev\":1}}"));
+            queue.enqueue(delivery("{\"issue\":{\"id\":1,\"rev\":2}}"));
+            queue.start();
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            // The failed first delivery is retried before the second one runs
+            assertEquals(List.of("rev1", "rev1", "rev2"), handled);
+        }
+    }
+
+    private static WebhookDelivery delivery(String body) {
+        return WebhookDelivery.builder()
+            .event("issue.updated")
+            .version("v1")
+            .headers(Map.of())
+            .body(body.getBytes(StandardCharsets.UTF_8))
+            .build();
+    }
+
+    private static WebhookDelivery delivery() {
+        return WebhookDelivery.builder()
+            .event("issue.created")
+            .version("v1")
+            .headers(Map.of())
+            .body("{}".getBytes(StandardCharsets.UTF_8))
+            .build();
+    }
+}